@@ -0,0 +1,66 @@
+package shine.restapi.restapi.common;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시에 처리하는 요청 수를 제한한다. 자리가 없으면 maxWait 만큼만 기다리고 503 으로 돌려보낸다.
+ * Tomcat 큐나 커넥션 풀 대기열에 무한히 쌓이는 대신 빨리 실패시켜서, 받은 요청의 응답 시간을 지킨다.
+ * long-poll, SSE 처럼 비동기로 결과를 기다리는 요청은 기다리는 동안 자리를 돌려준다.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ACQUIRED = AdmissionControlInterceptor.class.getName() + ".ACQUIRED";
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Duration retryAfter;
+
+    public AdmissionControlInterceptor(int maxConcurrent, Duration maxWait, Duration retryAfter) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws InterruptedException {
+        // 같은 요청의 ERROR dispatch 에서 두 번 잡지 않고, 결과만 쓰는 ASYNC dispatch 에서는 잡지 않는다.
+        if (request.getAttribute(ACQUIRED) != null || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            throw new ServiceUnavailableException("동시 처리 한도(" + maxConcurrent + ")를 넘었습니다.", retryAfter);
+        }
+        request.setAttribute(ACQUIRED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ACQUIRED) != null) {
+            request.removeAttribute(ACQUIRED);
+            permits.release();
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        afterCompletion(request, response, handler, null);
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,39 @@
+package shine.restapi.restapi.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Set;
+
+/**
+ * 요청을 보낸 클라이언트를 구분한다. 요청 한도(RateLimitInterceptor), replica 읽기(ReplicaRoutingInterceptor),
+ * Idempotency-Key 의 범위가 모두 같은 구분을 쓴다.
+ * <p>
+ * 등록된 API 키(events.rate-limit.api-keys)를 보냈으면 키로, 아니면 IP 로 구분한다.
+ * 등록되지 않은 키는 믿지 않는다. 요청마다 새 키를 보내서 한도를 피하거나, 클라이언트 캐시를 채워서 다른 클라이언트의 버킷을 밀어내지 못하게 한다.
+ */
+@Component
+public class ApiClients {
+
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+
+    public ApiClients(@Value("${events.rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+                      @Value("${events.rate-limit.api-keys:}") Set<String> apiKeys) {
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    /**
+     * 키와 IP 가 겹치지 않게 앞에 구분자를 붙인다.
+     */
+    public String clientOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        if (StringUtils.hasText(apiKey) && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
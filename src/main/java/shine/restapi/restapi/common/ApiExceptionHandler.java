@@ -0,0 +1,38 @@
+package shine.restapi.restapi.common;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+
+/**
+ * 컨트롤러 밖(인터셉터 등)에서 거절한 요청도 컨트롤러의 400 응답과 같은 ErrorsResource 모양으로 내려준다.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorsResource> serviceUnavailable(ServiceUnavailableException e) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "request");
+        errors.reject("serviceUnavailable", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(new ErrorsResource(errors));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorsResource> tooManyRequests(TooManyRequestsException e) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "request");
+        errors.reject("tooManyRequests", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(new ErrorsResource(errors));
+    }
+}
@@ -0,0 +1,83 @@
+package shine.restapi.restapi.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.config.HypermediaMappingInformation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+/**
+ * 서비스 사이 호출용 바이너리 표현. Accept 가 application/x-jackson-smile 이나 application/cbor 이면
+ * HAL JSON 과 같은 문서(_links, _embedded 모양 그대로)를 Smile, CBOR 로 내려주고, 같은 형식의 요청 본문도 받는다.
+ * <p>
+ * Spring MVC 는 classpath 에 Smile, CBOR 가 있으면 기본 converter 를 넣지만 HAL 모듈과 Spring Boot 의 Jackson 설정이 빠져 있으므로,
+ * Spring Boot 의 Jackson2ObjectMapperBuilder 로 만든 ObjectMapper 에 HAL 설정(HypermediaMappingInformation)을 더해서 바꿔 끼운다.
+ * EventJsonModule 도 함께 등록되므로 event 문서는 EventHalWriter 가 바로 쓴다.
+ * <p>
+ * Tomcat 은 strong ETag 가 붙은 응답을 압축하지 않는다. strong ETag 는 바이트가 같다는 뜻이라서 gzip 본문과 원래 본문에 같이 붙일 수 없다.
+ * 그래서 크기가 큰 목록 응답에는 weak ETag 를 붙여서 압축되게 하고(EventETags), If-Match 에 쓰는 event 단건 응답은 strong ETag 로 압축하지 않는다.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final String CBOR_VALUE = "application/cbor";
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+    private final List<HypermediaMappingInformation> hypermediaMappings;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                converters.set(i, new MappingJackson2SmileHttpMessageConverter(halMapper(new SmileFactory())));
+            } else if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                converters.set(i, new MappingJackson2CborHttpMessageConverter(halMapper(new CBORFactory())));
+            }
+        }
+    }
+
+    /**
+     * 같은 URI 가 Accept 에 따라 다른 표현을 내려주므로 캐시가 섞지 않게 한다.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/events/**");
+    }
+
+    private ObjectMapper halMapper(JsonFactory factory) {
+        ObjectMapper mapper = objectMapperBuilder.getObject().factory(factory).build();
+        for (HypermediaMappingInformation mapping : hypermediaMappings) {
+            if (mapping.getMediaTypes().contains(MediaTypes.HAL_JSON)) {
+                return mapping.configureObjectMapper(mapper);
+            }
+        }
+        throw new IllegalStateException("HAL 설정(HypermediaMappingInformation)을 찾지 못했습니다.");
+    }
+}
@@ -0,0 +1,46 @@
+package shine.restapi.restapi.common;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 캐시 구현은 spring.cache.type 으로 바꿀 수 있다. (none 이면 캐시를 쓰지 않는다)
+ * caffeine 인 경우 cache.specs.{캐시 이름} 으로 캐시마다 크기와 TTL 을 따로 준다.
+ * 크기 제한을 넘으면 Caffeine 의 W-TinyLFU 정책으로 밀어낸다.
+ * <p>
+ * 캐시 advice 를 트랜잭션 advice 보다 바깥에 두어서, 쓰기 후의 evict 가 커밋 이후에 일어나고
+ * 캐시 hit 이면 트랜잭션을 열지도 않게 한다.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    @Bean
+    @ConfigurationProperties("cache")
+    public CacheSpecs cacheSpecs() {
+        return new CacheSpecs();
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> caffeineCacheSpecsCustomizer(CacheSpecs cacheSpecs) {
+        return cacheManager -> cacheSpecs.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).build()));
+    }
+
+    public static class CacheSpecs {
+        private final Map<String, String> specs = new LinkedHashMap<>();
+
+        public Map<String, String> getSpecs() {
+            return specs;
+        }
+    }
+}
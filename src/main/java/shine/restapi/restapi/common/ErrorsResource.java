@@ -1,16 +1,43 @@
 package shine.restapi.restapi.common;
 
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.Link;
 import org.springframework.validation.Errors;
-import shine.restapi.restapi.index.IndexController;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 
 public class ErrorsResource extends EntityModel<Errors> {
     public ErrorsResource(Errors content) {
+        this(content, LinkTemplates.current());
+    }
+
+    public ErrorsResource(Errors content, LinkTemplates links) {
         super(content);
-        add(linkTo(methodOn(IndexController.class).index()).withRel("index"));
+        add(links.index());
+    }
+
+    /**
+     * 400 응답의 본문. 409, 429, 503 같은 다른 에러 응답은 세지 않도록 생성자와 나눠 둔다.
+     */
+    public static ErrorsResource validationFailure(Errors content) {
+        return validationFailure(content, LinkTemplates.current());
+    }
+
+    public static ErrorsResource validationFailure(Errors content, LinkTemplates links) {
+        countFailures(content);
+        return new ErrorsResource(content, links);
+    }
+
+    /**
+     * 400 응답의 원인을 code, field 별로 센다. (/actuator/metrics/events.validation.failures)
+     * ErrorsResource 는 bean 이 아니라서 Spring Boot 가 연결해 둔 global registry 를 쓴다.
+     */
+    private static void countFailures(Errors errors) {
+        for (ObjectError error : errors.getAllErrors()) {
+            String field = error instanceof FieldError ? ((FieldError) error).getField() : "global";
+            Metrics.counter("events.validation.failures",
+                    "code", String.valueOf(error.getCode()),
+                    "field", field).increment();
+        }
     }
 }
@@ -3,46 +3,118 @@ package shine.restapi.restapi.common;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.jackson.JsonComponent;
 import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 
 import java.io.IOException;
+import java.time.temporal.TemporalAccessor;
 
+/**
+ * Errors 를 {"errors":[...]} 로 쓴다. 크기가 정해진 응답만 나가도록 다음을 제한한다.
+ * <ul>
+ *     <li>에러는 maxErrors 개까지만 쓰고, 나머지는 개수만 errorsOmitted 로 알려준다.</li>
+ *     <li>rejectValue 는 문자열, 숫자, boolean, enum, 날짜만 쓰고 maxValueLength 글자에서 자른다.
+ *     그 밖의 객체(컬렉션, DTO 등)는 toString 을 부르지 않고 생략한다.</li>
+ *     <li>defaultMessage 도 같은 길이에서 자른다. Bean Validation 메시지에 입력 값이 들어갈 수 있기 때문이다.</li>
+ * </ul>
+ * 쓰는 중에 난 IOException 은 그대로 던진다.
+ */
 @JsonComponent
 public class ErrorsSerializer extends JsonSerializer<Errors> {
 
+    static final int DEFAULT_MAX_ERRORS = 50;
+    static final int DEFAULT_MAX_VALUE_LENGTH = 256;
+    static final String TRUNCATED = "...";
+
+    private final int maxErrors;
+    private final int maxValueLength;
+
+    public ErrorsSerializer() {
+        this(DEFAULT_MAX_ERRORS, DEFAULT_MAX_VALUE_LENGTH);
+    }
+
+    @Autowired
+    public ErrorsSerializer(@Value("${events.errors.max-errors:" + DEFAULT_MAX_ERRORS + "}") int maxErrors,
+                            @Value("${events.errors.max-value-length:" + DEFAULT_MAX_VALUE_LENGTH + "}") int maxValueLength) {
+        this.maxErrors = maxErrors;
+        this.maxValueLength = maxValueLength;
+    }
+
     @Override
     public void serialize(Errors errors, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        // getFieldErrors/getGlobalErrors 는 호출마다 목록을 새로 만들므로 getAllErrors 를 두 번 훑는다. (필드 에러가 먼저)
+        int written = 0;
         jsonGenerator.writeFieldName("errors");
         jsonGenerator.writeStartArray();
-        errors.getFieldErrors().forEach(e -> {
-            try {
-                jsonGenerator.writeStartObject();
-                jsonGenerator.writeStringField("objectName", e.getObjectName());
-                jsonGenerator.writeStringField("field", e.getField());
-                jsonGenerator.writeStringField("defaultMessage", e.getDefaultMessage());
-                jsonGenerator.writeStringField("code", e.getCode());
-                Object rejectedValue = e.getRejectedValue();
-                if (rejectedValue != null) {
-                    jsonGenerator.writeStringField("rejectValue", rejectedValue.toString());
-                }
-                jsonGenerator.writeEndObject();
-            } catch (IOException ex) {
-                ex.printStackTrace();
+        for (ObjectError error : errors.getAllErrors()) {
+            if (error instanceof FieldError && written < maxErrors) {
+                writeFieldError((FieldError) error, jsonGenerator);
+                written++;
             }
-        });
-
-        errors.getGlobalErrors().forEach(e -> {
-            try {
-                jsonGenerator.writeStartObject();
-                jsonGenerator.writeStringField("objectName", e.getObjectName());
-                jsonGenerator.writeStringField("code", e.getCode());
-                jsonGenerator.writeStringField("defaultMessage", e.getDefaultMessage());
-                jsonGenerator.writeEndObject();
-            } catch (IOException ex) {
-                ex.printStackTrace();
+        }
+        for (ObjectError error : errors.getAllErrors()) {
+            if (!(error instanceof FieldError) && written < maxErrors) {
+                writeGlobalError(error, jsonGenerator);
+                written++;
             }
-        });
+        }
         jsonGenerator.writeEndArray();
+
+        int omitted = errors.getErrorCount() - written;
+        if (omitted > 0) {
+            jsonGenerator.writeNumberField("errorsOmitted", omitted);
+        }
+    }
+
+    private void writeFieldError(FieldError e, JsonGenerator jsonGenerator) throws IOException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField("objectName", e.getObjectName());
+        jsonGenerator.writeStringField("field", e.getField());
+        writeBounded("defaultMessage", e.getDefaultMessage(), jsonGenerator);
+        jsonGenerator.writeStringField("code", e.getCode());
+        String rejectedValue = describe(e.getRejectedValue());
+        if (rejectedValue != null) {
+            writeBounded("rejectValue", rejectedValue, jsonGenerator);
+        }
+        jsonGenerator.writeEndObject();
+    }
+
+    private void writeGlobalError(ObjectError e, JsonGenerator jsonGenerator) throws IOException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField("objectName", e.getObjectName());
+        jsonGenerator.writeStringField("code", e.getCode());
+        writeBounded("defaultMessage", e.getDefaultMessage(), jsonGenerator);
+        jsonGenerator.writeEndObject();
+    }
+
+    /**
+     * 값을 그대로 보여줘도 되는 타입만 문자열로 바꾼다.
+     */
+    private static String describe(Object rejectedValue) {
+        if (rejectedValue instanceof CharSequence || rejectedValue instanceof Number || rejectedValue instanceof Boolean
+                || rejectedValue instanceof Character || rejectedValue instanceof Enum || rejectedValue instanceof TemporalAccessor) {
+            return rejectedValue.toString();
+        }
+        return null;
+    }
+
+    private void writeBounded(String fieldName, String value, JsonGenerator jsonGenerator) throws IOException {
+        jsonGenerator.writeFieldName(fieldName);
+        if (value == null) {
+            jsonGenerator.writeNull();
+        } else if (value.length() <= maxValueLength) {
+            jsonGenerator.writeString(value);
+        } else {
+            int end = maxValueLength;
+            // surrogate pair 가운데서 자르지 않는다.
+            if (end > 0 && Character.isHighSurrogate(value.charAt(end - 1))) {
+                end--;
+            }
+            jsonGenerator.writeString(value.substring(0, end) + TRUNCATED);
+        }
     }
 }
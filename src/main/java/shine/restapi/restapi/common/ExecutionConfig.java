@@ -0,0 +1,87 @@
+package shine.restapi.restapi.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 요청을 처리할 스레드와 동시 처리 한도를 정한다.
+ * <ul>
+ *     <li>events.execution.mode=platform : Tomcat 스레드 풀 (기본값, server.tomcat.threads.max)</li>
+ *     <li>events.execution.mode=virtual : 요청마다 virtual thread. JDK 21 이상에서만 뜨고, 아니면 시작하지 않는다.</li>
+ * </ul>
+ * events.admission.max-concurrent 를 정하지 않으면 platform 모드에서는 server.tomcat.threads.max 의 3/4 로 둔다.
+ * 한도가 스레드 수와 같거나 크면 스레드가 먼저 모자라서 요청이 Tomcat 큐에 쌓이고 503 으로 거르지 못한다.
+ * virtual thread 를 쓰면 스레드 수가 더 이상 동시 처리 수를 막아주지 않으므로, 한도를 커넥션 풀 크기
+ * (spring.datasource.hikari.maximum-pool-size)로 두어서 DB 앞에서 요청을 거른다.
+ */
+@Slf4j
+@Configuration
+public class ExecutionConfig implements WebMvcConfigurer {
+
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+
+    public ExecutionConfig(@Value("${events.execution.mode:platform}") String mode,
+                           @Value("${server.tomcat.threads.max:200}") int tomcatThreads,
+                           @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                           @Value("${events.admission.max-concurrent:-1}") int maxConcurrent,
+                           @Value("${events.admission.max-wait:50ms}") Duration maxWait,
+                           @Value("${events.admission.retry-after:1s}") Duration retryAfter) {
+        boolean virtual = "virtual".equals(mode);
+        if (maxConcurrent >= 0) {
+            this.maxConcurrent = maxConcurrent;
+        } else {
+            this.maxConcurrent = virtual ? Math.max(connectionPoolSize, 1) : Math.max(tomcatThreads * 3 / 4, 1);
+        }
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        if (!virtual && this.maxConcurrent >= tomcatThreads) {
+            log.warn("events.admission.max-concurrent({})가 server.tomcat.threads.max({}) 보다 작지 않아서 동시 처리 한도로 요청을 거르지 못합니다.",
+                    this.maxConcurrent, tomcatThreads);
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "events.execution.mode", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadExecutorCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor() {
+        return new AdmissionControlInterceptor(maxConcurrent, maxWait, retryAfter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (maxConcurrent > 0) {
+            registry.addInterceptor(admissionControlInterceptor()).addPathPatterns("/api/events/**");
+        }
+    }
+
+    /**
+     * Java 11 로 컴파일하므로 JDK 21 의 Executors.newVirtualThreadPerTaskExecutor() 는 리플렉션으로 찾는다.
+     * virtual 모드를 골랐는데 JDK 가 지원하지 않으면 스레드 풀로 조용히 돌지 않고 시작을 멈춘다.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("events.execution.mode=virtual 은 JDK 21 이상이 필요합니다. (현재 JDK "
+                    + System.getProperty("java.version") + ")", e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package shine.restapi.restapi.common;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.Link;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * base URI(scheme, host, port, context path) 별로 미리 만들어 둔 링크 템플릿.
+ * <p>
+ * WebMvcLinkBuilder.linkTo 는 호출할 때마다 요청과 매핑 애노테이션을 리플렉션으로 해석한다.
+ * 여기서는 base URI 를 요청당 한 번만 계산한 뒤(linkTo 와 같은 방식) base 별로 캐시해 둔다.
+ * 기능별 링크(EventLinks, EnrollmentLinks)는 컨트롤러 매핑 경로를 한 번만 읽어서 get 으로 base 마다 한 번 만들어 두므로
+ * 링크 생성은 문자열 연결로 끝난다.
+ * base URI 는 ServletUriComponentsBuilder 로 구하기 때문에 ForwardedHeaderFilter 가 반영한 forwarded 헤더와
+ * context path 가 그대로 적용된다.
+ */
+public final class LinkTemplates {
+
+    public static final String INDEX_PATH = "/api";
+
+    // forwarded 헤더로 Host 를 마음대로 바꿀 수 있으므로 캐시 크기를 제한한다.
+    private static final int MAX_BASES = 64;
+    private static final ConcurrentMap<String, LinkTemplates> CACHE = new ConcurrentHashMap<>();
+    private static final String CURRENT = LinkTemplates.class.getName() + ".CURRENT";
+
+    private final String base;
+    private final Link index;
+    private final ConcurrentMap<Class<?>, Object> templates = new ConcurrentHashMap<>();
+
+    private LinkTemplates(String base) {
+        this.base = base;
+        this.index = Link.of(base + INDEX_PATH, "index");
+    }
+
+    /**
+     * 현재 요청의 base URI 에 해당하는 템플릿.
+     */
+    public static LinkTemplates current() {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        LinkTemplates templates = (LinkTemplates) attributes.getAttribute(CURRENT, RequestAttributes.SCOPE_REQUEST);
+        if (templates == null) {
+            templates = forBase(ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString());
+            attributes.setAttribute(CURRENT, templates, RequestAttributes.SCOPE_REQUEST);
+        }
+        return templates;
+    }
+
+    /**
+     * WebFlux 요청의 base URI 에 해당하는 템플릿. forwarded 헤더는 ForwardedHeaderTransformer 가 반영한 경우에만 적용된다.
+     */
+    public static LinkTemplates forRequest(ServerHttpRequest request) {
+        return forBase(UriComponentsBuilder.fromUri(request.getURI())
+                .replacePath(request.getPath().contextPath().value())
+                .replaceQuery(null)
+                .fragment(null)
+                .build().toUriString());
+    }
+
+    public static LinkTemplates forBase(String base) {
+        LinkTemplates templates = CACHE.get(base);
+        if (templates == null) {
+            if (CACHE.size() >= MAX_BASES) {
+                CACHE.clear();
+            }
+            templates = CACHE.computeIfAbsent(base, LinkTemplates::new);
+        }
+        return templates;
+    }
+
+    /**
+     * 이 base 로 만든 기능별 링크. type 마다 처음 한 번만 factory(base) 로 만들고 재사용한다.
+     */
+    public <T> T get(Class<T> type, Function<String, T> factory) {
+        Object template = templates.get(type);
+        if (template == null) {
+            template = templates.computeIfAbsent(type, key -> factory.apply(base));
+        }
+        return type.cast(template);
+    }
+
+    public String base() {
+        return base;
+    }
+
+    /**
+     * /api 를 가리키는 index 링크
+     */
+    public Link index() {
+        return index;
+    }
+
+    /**
+     * 컨트롤러의 @RequestMapping 경로. 없으면 빈 문자열.
+     */
+    public static String mappingOf(Class<?> controller) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class);
+        return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+    }
+}
@@ -0,0 +1,19 @@
+package shine.restapi.restapi.common;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 측정값은 /actuator/metrics/events.stage, /actuator/metrics/events.hibernate.statements,
+ * /actuator/metrics/events.validation.failures, /actuator/metrics/http.server.requests 에서 본다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+}
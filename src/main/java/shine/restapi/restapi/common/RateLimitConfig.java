@@ -0,0 +1,123 @@
+package shine.restapi.restapi.common;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /api/events 요청 수를 클라이언트별로 제한한다. (events.rate-limit.enabled=false 로 끈다)
+ * 규칙은 events.rate-limit.rules[n].method, path, capacity, refill-per-second 로 주고, 위에서부터 처음 맞는 규칙을 쓴다.
+ * API 키는 events.rate-limit.api-keys 에 등록한 것만 클라이언트로 인정하고, 나머지는 IP 로 센다. (ApiClients)
+ * 동시 처리 한도(AdmissionControlInterceptor)보다 먼저 검사해서, 한도를 넘은 클라이언트가 자리를 차지하지 않게 한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "events.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final ApiClients apiClients;
+
+    @Bean
+    @ConfigurationProperties("events.rate-limit")
+    public RateLimits rateLimits() {
+        return new RateLimits();
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor() {
+        RateLimits rateLimits = rateLimits();
+        return new RateLimitInterceptor(rateLimits.getRules(), apiClients,
+                rateLimits.getMaxClients(), rateLimits.getIdleTimeout());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor())
+                .addPathPatterns("/api/events/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    public static class RateLimits {
+        private String apiKeyHeader = "X-API-Key";
+        private int maxClients = 100_000;
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private final List<Rule> rules = new ArrayList<>();
+
+        public String getApiKeyHeader() {
+            return apiKeyHeader;
+        }
+
+        public void setApiKeyHeader(String apiKeyHeader) {
+            this.apiKeyHeader = apiKeyHeader;
+        }
+
+        public int getMaxClients() {
+            return maxClients;
+        }
+
+        public void setMaxClients(int maxClients) {
+            this.maxClients = maxClients;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public List<Rule> getRules() {
+            return rules;
+        }
+    }
+
+    public static class Rule {
+        private HttpMethod method; // 없으면 모든 메서드
+        private String path;
+        private int capacity;
+        private double refillPerSecond;
+
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        public void setMethod(HttpMethod method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package shine.restapi.restapi.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 클라이언트(등록된 API 키, 아니면 IP. ApiClients)마다 token bucket 으로 요청 수를 제한한다.
+ * <p>
+ * 규칙(메서드 + 경로 패턴)마다 따로 버킷을 두고, 요청에 맞는 첫 번째 규칙의 버킷에서 토큰을 꺼낸다.
+ * 버킷은 규칙별 Caffeine 캐시에 두므로 조회는 잠금 없이 끝나고, 토큰을 꺼내는 것도 CAS 한 번이다.
+ * 오래 쓰지 않은 클라이언트(idleTimeout)는 버리고, 클라이언트 수는 maxClients 로 제한한다.
+ * 버려진 클라이언트는 다음 요청에서 가득 찬 버킷으로 다시 시작한다.
+ * <p>
+ * 응답에는 RateLimit-Limit, RateLimit-Remaining, RateLimit-Reset(가득 찰 때까지 남은 초) 헤더를 붙인다.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT = "RateLimit-Limit";
+    public static final String REMAINING = "RateLimit-Remaining";
+    public static final String RESET = "RateLimit-Reset";
+
+    private static final String CHECKED = RateLimitInterceptor.class.getName() + ".CHECKED";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Limit> limits;
+    private final ApiClients apiClients;
+
+    public RateLimitInterceptor(List<RateLimitConfig.Rule> rules, ApiClients apiClients, int maxClients, Duration idleTimeout) {
+        this.limits = rules.stream()
+                .map(rule -> new Limit(rule, Caffeine.newBuilder()
+                        .maximumSize(maxClients)
+                        .expireAfterAccess(idleTimeout)
+                        .build()))
+                .collect(Collectors.toList());
+        this.apiClients = apiClients;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 같은 요청의 ERROR/ASYNC dispatch 에서 토큰을 두 번 꺼내지 않는다.
+        if (request.getAttribute(CHECKED) != null) {
+            return true;
+        }
+        request.setAttribute(CHECKED, Boolean.TRUE);
+
+        Limit limit = findLimit(request);
+        if (limit == null) {
+            return true;
+        }
+        RateLimitConfig.Rule rule = limit.rule;
+        long now = System.nanoTime();
+        TokenBucket bucket = limit.buckets.get(apiClients.clientOf(request),
+                client -> new TokenBucket(rule.getCapacity(), rule.getRefillPerSecond(), now));
+        long result = bucket.tryConsume(now);
+
+        response.setHeader(LIMIT, String.valueOf(rule.getCapacity()));
+        response.setHeader(REMAINING, String.valueOf(Math.max(result, 0)));
+        response.setHeader(RESET, String.valueOf(toSeconds(bucket.nanosUntilFull(now))));
+        if (result < 0) {
+            throw new TooManyRequestsException("요청 한도(" + rule.getCapacity() + "회, 초당 "
+                    + rule.getRefillPerSecond() + "회 충전)를 넘었습니다.", Duration.ofSeconds(toSeconds(-result)));
+        }
+        return true;
+    }
+
+    private Limit findLimit(HttpServletRequest request) {
+        String method = request.getMethod();
+        // MVC 매핑과 같은 방식으로 경로를 구하고, 끝의 / 로 규칙을 피해가지 못하게 뗀다.
+        String path = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        for (Limit limit : limits) {
+            RateLimitConfig.Rule rule = limit.rule;
+            if ((rule.getMethod() == null || rule.getMethod().matches(method)) && pathMatcher.match(rule.getPath(), path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    private static class Limit {
+        private final RateLimitConfig.Rule rule;
+        private final Cache<String, TokenBucket> buckets;
+
+        private Limit(RateLimitConfig.Rule rule, Cache<String, TokenBucket> buckets) {
+            this.rule = rule;
+            this.buckets = buckets;
+        }
+    }
+}
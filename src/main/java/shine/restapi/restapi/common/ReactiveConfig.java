@@ -0,0 +1,42 @@
+package shine.restapi.restapi.common;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.hateoas.support.WebStack;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * reactive 프로파일(spring.main.web-application-type=reactive)용 설정.
+ * WebFlux, R2DBC 는 optional 의존성이라 기본 배포본(-Dreactive 없이 만든 jar)에는 없고, 그때는 이 설정도 쓰지 않는다.
+ * Spring Boot 는 WebFlux 에 HAL 과 Pageable 인자를 자동으로 붙여주지 않으므로 직접 등록한다.
+ * <p>
+ * R2DBC ConnectionFactory 가 있으면 DataSource 자동 설정이 빠지는데, 스키마 생성과 JPA 쪽 서비스는
+ * reactive 에서도 그대로 쓰므로 spring.datasource.* 로 DataSource 를 직접 만든다.
+ */
+@Configuration
+@ConditionalOnClass(name = {"org.springframework.web.reactive.config.WebFluxConfigurer", "io.r2dbc.spi.ConnectionFactory"})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableHypermediaSupport(type = EnableHypermediaSupport.HypermediaType.HAL, stacks = WebStack.WEBFLUX)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+}
@@ -0,0 +1,174 @@
+package shine.restapi.restapi.common;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 요청을 read replica 로 보낸다. (events.read-replicas.enabled=true 로 켠다)
+ * primary 는 spring.datasource.* 를 그대로 쓰고, replica 는 events.read-replicas.urls[n] 으로 준다.
+ * 계정은 따로 주지 않으면 primary 와 같은 것을 쓴다.
+ * <ul>
+ *     <li>selection : round-robin(기본값) 또는 least-connections (풀에서 빌려간 커넥션이 가장 적은 replica)</li>
+ *     <li>max-lag : replica 가 primary 를 따라오는 데 걸리는 최대 시간. 쓰기 요청을 보낸 클라이언트는 이 시간 동안 primary 에서 읽는다.</li>
+ *     <li>health-check-interval : 뺀 replica 를 다시 확인하는 주기</li>
+ * </ul>
+ * /api/events/changes 는 primary 에서 매긴 position 을 바로 읽어야 하므로 replica 를 쓰지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "events.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    private final ApiClients apiClients;
+
+    public ReadReplicaConfig(ApiClients apiClients) {
+        this.apiClients = apiClients;
+    }
+
+    @Bean
+    @ConfigurationProperties("events.read-replicas")
+    public ReplicaSettings replicaSettings() {
+        return new ReplicaSettings();
+    }
+
+    /**
+     * DataSourceAutoConfiguration 이 만드는 것과 같은 primary 풀. spring.datasource.hikari.* 도 그대로 받는다.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicas readReplicas(DataSourceProperties properties) {
+        ReplicaSettings settings = replicaSettings();
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < settings.getUrls().size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(settings.getUrls().get(i));
+            dataSource.setUsername(StringUtils.hasText(settings.getUsername()) ? settings.getUsername() : properties.determineUsername());
+            dataSource.setPassword(settings.getPassword() != null ? settings.getPassword() : properties.determinePassword());
+            dataSource.setReadOnly(true);
+            dataSource.setMaximumPoolSize(settings.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+            dataSources.add(dataSource);
+        }
+        return new ReadReplicas(dataSources, settings.getSelection(), settings.getHealthCheckInterval(), settings.getMaxLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicas readReplicas) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, readReplicas));
+    }
+
+    @Bean
+    public ReplicaRoutingInterceptor replicaRoutingInterceptor() {
+        ReplicaSettings settings = replicaSettings();
+        return new ReplicaRoutingInterceptor(settings.getMaxLag(), settings.getMaxClients(), apiClients);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(replicaRoutingInterceptor())
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/events/changes");
+    }
+
+    public static class ReplicaSettings {
+        private final List<String> urls = new ArrayList<>();
+        private String username;
+        private String password;
+        private ReadReplicas.Selection selection = ReadReplicas.Selection.ROUND_ROBIN;
+        private Duration maxLag = Duration.ofSeconds(2);
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+        private int maximumPoolSize = 10;
+        private int maxClients = 100_000;
+
+        public List<String> getUrls() {
+            return urls;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public ReadReplicas.Selection getSelection() {
+            return selection;
+        }
+
+        public void setSelection(ReadReplicas.Selection selection) {
+            this.selection = selection;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getHealthCheckInterval() {
+            return healthCheckInterval;
+        }
+
+        public void setHealthCheckInterval(Duration healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getMaxClients() {
+            return maxClients;
+        }
+
+        public void setMaxClients(int maxClients) {
+            this.maxClients = maxClients;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package shine.restapi.restapi.common;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 읽기 전용 replica 커넥션 풀들. ReplicaRoutingDataSource 가 여기서 replica 를 고른다.
+ * <p>
+ * 커넥션을 얻지 못한 replica 는 바로 빼고, health-check-interval 마다 다시 확인해서 살아나면 되돌린다.
+ * 남은 replica 가 없으면 null 을 돌려주고 primary 에서 읽는다.
+ * replica 는 primary 보다 maxLag 만큼 늦을 수 있으므로, 그 사이에 replica 에서 읽어 캐시에 넣은 값을 지울 수 있게
+ * runAfterMaxLag 로 작업을 미뤄둘 수 있다.
+ */
+@Slf4j
+public class ReadReplicas implements SmartLifecycle, DisposableBean {
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_CONNECTIONS
+    }
+
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final Duration healthCheckInterval;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<Replica> healthy;
+    private ScheduledExecutorService executor;
+
+    public ReadReplicas(List<HikariDataSource> dataSources, Selection selection, Duration healthCheckInterval, Duration maxLag) {
+        this.replicas = dataSources.stream().map(Replica::new).collect(Collectors.toList());
+        this.healthy = this.replicas;
+        this.selection = selection;
+        this.healthCheckInterval = healthCheckInterval;
+        this.maxLag = maxLag;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    /**
+     * 지금 읽기에 쓰는 replica 수
+     */
+    public int getHealthyCount() {
+        return healthy.size();
+    }
+
+    /**
+     * 살아있는 replica 에서 커넥션을 얻는다. 실패한 replica 는 빼고 다음 replica 로 넘어가며, 모두 실패하면 null 을 돌려준다.
+     */
+    public Connection getConnection() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = select();
+            if (replica == null) {
+                return null;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                eject(replica, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * maxLag 가 지난 뒤에 task 를 실행한다. 그때는 replica 도 지금의 primary 를 따라와 있다.
+     */
+    public void runAfterMaxLag(Runnable task) {
+        ScheduledExecutorService current = executor;
+        if (current == null || current.isShutdown()) {
+            return;
+        }
+        current.schedule(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("replica 지연 뒤의 작업에 실패했습니다.", e);
+            }
+        }, maxLag.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private Replica select() {
+        List<Replica> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (selection == Selection.LEAST_CONNECTIONS) {
+            return candidates.stream().min(Comparator.comparingInt(Replica::activeConnections)).get();
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    private synchronized void eject(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            refreshHealthy();
+            log.warn("replica {} 를 읽기에서 뺍니다. ({}개 남음)", replica.name(), healthy.size(), cause);
+        }
+    }
+
+    private synchronized void reinstate(Replica replica) {
+        if (!replica.healthy) {
+            replica.healthy = true;
+            refreshHealthy();
+            log.info("replica {} 를 다시 읽기에 씁니다. ({}개)", replica.name(), healthy.size());
+        }
+    }
+
+    private void refreshHealthy() {
+        healthy = replicas.stream().filter(replica -> replica.healthy).collect(Collectors.toUnmodifiableList());
+    }
+
+    private void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid((int) Math.max(1, healthCheckInterval.toSeconds()))) {
+                    reinstate(replica);
+                } else {
+                    eject(replica, new SQLException("커넥션이 유효하지 않습니다."));
+                }
+            } catch (SQLException | RuntimeException e) {
+                eject(replica, e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-replicas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::checkHealth,
+                healthCheckInterval.toMillis(), healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+
+        private int activeConnections() {
+            // 풀은 처음 커넥션을 달라고 할 때 만들어진다.
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+    }
+}
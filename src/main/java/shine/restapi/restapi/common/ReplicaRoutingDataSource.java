@@ -0,0 +1,56 @@
+package shine.restapi.restapi.common;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * replica 를 써도 되는 스레드(ReplicaRoutingInterceptor 가 허락한 읽기 요청)의 읽기 전용 트랜잭션은 replica 로,
+ * 나머지는 모두 primary 로 보낸다. 백그라운드 작업과 쓰기 요청은 항상 primary 를 쓴다.
+ * <p>
+ * 트랜잭션이 read-only 인지는 트랜잭션을 시작한 뒤에야 알 수 있으므로 LazyConnectionDataSourceProxy 로 감싸서,
+ * 첫 쿼리를 실행할 때 커넥션을 고르게 한다.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final ReadReplicas readReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReadReplicas readReplicas) {
+        this.primary = primary;
+        this.readReplicas = readReplicas;
+    }
+
+    public static void allowReplica() {
+        REPLICA_ALLOWED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        REPLICA_ALLOWED.remove();
+    }
+
+    static boolean isReplicaAllowed() {
+        return REPLICA_ALLOWED.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isReplicaAllowed() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Connection connection = readReplicas.getConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
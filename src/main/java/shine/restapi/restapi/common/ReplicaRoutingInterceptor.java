@@ -0,0 +1,60 @@
+package shine.restapi.restapi.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+
+/**
+ * GET, HEAD 요청에만 replica 를 허락한다.
+ * 쓰기 요청을 보낸 클라이언트(등록된 API 키, 아니면 IP. ApiClients)는 maxLag 동안 primary 에서 읽어서, 자기가 쓴 내용을 바로 다시 읽을 수 있다.
+ * 쓰기 요청은 처리하기 전(preHandle)에 기록한다. 응답을 받자마자 보낸 읽기 요청이 기록보다 먼저 와서 replica 로 가지 않게 하기 위해서다.
+ * 끝난 뒤(afterCompletion)에 한 번 더 기록해서 maxLag 를 쓰기가 끝난 시각부터 센다.
+ * 이 기록은 인스턴스마다 따로 있으므로, 여러 인스턴스를 둘 때는 로드밸런서에서 클라이언트를 한 인스턴스에 붙여야 한다.
+ */
+public class ReplicaRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private final Cache<String, Boolean> writers;
+    private final ApiClients apiClients;
+
+    public ReplicaRoutingInterceptor(Duration maxLag, int maxClients, ApiClients apiClients) {
+        this.writers = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(maxLag)
+                .build();
+        this.apiClients = apiClients;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String client = apiClients.clientOf(request);
+        if (!isRead(request)) {
+            writers.put(client, Boolean.TRUE);
+        } else if (writers.getIfPresent(client) == null) {
+            ReplicaRoutingDataSource.allowReplica();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 결과는 다른 스레드에서 만들어지고, ASYNC dispatch 에서 preHandle 을 다시 거친다.
+        ReplicaRoutingDataSource.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.clear();
+        if (!isRead(request)) {
+            writers.put(apiClients.clientOf(request), Boolean.TRUE);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+}
@@ -0,0 +1,18 @@
+package shine.restapi.restapi.common;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import shine.restapi.restapi.RestapiApplication;
+
+/**
+ * Event 는 JPA 와 R2DBC 양쪽에 매핑되어 있어서, JPA 가 reactive repository 까지 가져가지 않도록 제외한다.
+ * reactive repository 는 reactive 프로파일의 R2DBC 자동 설정이 만든다.
+ */
+@Configuration
+@EnableJpaRepositories(basePackageClasses = RestapiApplication.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveCrudRepository.class))
+public class RepositoryConfig {
+}
@@ -0,0 +1,27 @@
+package shine.restapi.restapi.common;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * 여러 인스턴스 중 하나만 돌아야 하는 작업의 소유권. leaseUntil 까지 owner 만 작업을 돌린다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "name")
+@Entity
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+    @Column(nullable = false)
+    private String owner;
+    @Column(nullable = false)
+    private LocalDateTime leaseUntil;
+}
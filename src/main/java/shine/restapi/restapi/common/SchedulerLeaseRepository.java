@@ -0,0 +1,22 @@
+package shine.restapi.restapi.common;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * 내가 가지고 있거나 만료된 lease 를 가져오고 leaseUntil 을 늘린다. 가져왔으면 1.
+     */
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :owner, l.leaseUntil = :until " +
+            "where l.name = :name and (l.owner = :owner or l.leaseUntil < :now)")
+    int tryAcquire(String name, String owner, LocalDateTime now, LocalDateTime until);
+
+    @Modifying
+    @Query("update SchedulerLease l set l.leaseUntil = :now where l.name = :name and l.owner = :owner")
+    int release(String name, String owner, LocalDateTime now);
+}
@@ -0,0 +1,53 @@
+package shine.restapi.restapi.common;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * scheduler_lease 행으로 여러 인스턴스 중 하나를 작업 담당으로 정한다.
+ * 담당 인스턴스는 ttl 이 지나기 전에 다시 tryAcquire 해서 lease 를 늘리고, 죽으면 ttl 뒤에 다른 인스턴스가 가져간다.
+ * 시각은 각 인스턴스의 시계를 쓰므로 인스턴스 사이의 시계 차이는 ttl 보다 충분히 작아야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchedulerLeases {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        if (schedulerLeaseRepository.tryAcquire(name, owner, now, now.plus(ttl)) == 1) {
+            return true;
+        }
+        if (schedulerLeaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            // 처음 쓰는 이름이면 행을 만든다. 동시에 만들면 한쪽만 성공한다.
+            schedulerLeaseRepository.saveAndFlush(new SchedulerLease(name, owner, now.plus(ttl)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Transactional
+    public void release(String name) {
+        schedulerLeaseRepository.release(name, owner, LocalDateTime.now());
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}
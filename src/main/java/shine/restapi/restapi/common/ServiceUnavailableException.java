@@ -0,0 +1,20 @@
+package shine.restapi.restapi.common;
+
+import java.time.Duration;
+
+/**
+ * 처리 한도를 넘어서 요청을 받지 않을 때 던진다. ApiExceptionHandler 가 503 + Retry-After 로 바꾼다.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,85 @@
+package shine.restapi.restapi.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 처리 단계별 시간(events.stage)과 요청당 Hibernate SQL 수(events.hibernate.statements)를 기록한다.
+ * endpoint 태그는 요청을 처리한 컨트롤러 메서드 이름이다. (http.server.requests 의 uri 태그와 함께 보면 된다)
+ * <pre>
+ * long t = System.nanoTime();
+ * eventValidator.validate(eventDto, errors);
+ * t = stageMetrics.record(StageMetrics.VALIDATION, t);
+ * </pre>
+ */
+@Component
+public class StageMetrics {
+
+    public static final String BINDING = "binding";
+    public static final String VALIDATION = "validation";
+    public static final String MAPPING = "mapping";
+    public static final String REPOSITORY = "repository";
+    public static final String ASSEMBLY = "assembly";
+    public static final String SERIALIZATION = "serialization";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    // Timer.builder 로 매번 태그를 만들지 않도록 (endpoint, stage) 별로 들고 있는다.
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> statements = new ConcurrentHashMap<>();
+
+    public StageMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * startNanos 부터 지금까지를 현재 요청의 stage 시간으로 기록하고, 다음 단계의 시작 시각으로 쓸 지금 시각을 돌려준다.
+     */
+    public long record(String stage, long startNanos) {
+        long now = System.nanoTime();
+        record(currentEndpoint(), stage, now - startNanos);
+        return now;
+    }
+
+    void record(String endpoint, String stage, long nanos) {
+        timers.computeIfAbsent(endpoint + ' ' + stage, key -> Timer.builder("events.stage")
+                        .description("Time spent in each stage of an /api request")
+                        .tag("endpoint", endpoint)
+                        .tag("stage", stage)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordStatements(String endpoint, int count) {
+        statements.computeIfAbsent(endpoint, key -> DistributionSummary.builder("events.hibernate.statements")
+                        .description("SQL statements Hibernate prepared per /api request")
+                        .tag("endpoint", endpoint)
+                        .register(registry))
+                .record(count);
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod ? ((HandlerMethod) handler).getMethod().getName() : NONE;
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes
+                ? endpoint(((ServletRequestAttributes) attributes).getRequest())
+                : NONE;
+    }
+}
@@ -0,0 +1,47 @@
+package shine.restapi.restapi.common;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * /api 요청이 끝날 때 직렬화 시간과 요청 동안 실행된 Hibernate SQL 수를 기록한다.
+ * 직렬화는 StageMetricsAdvice.beforeBodyWrite 부터 응답을 다 쓸 때까지다.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class StageMetricsFilter extends OncePerRequestFilter {
+
+    static final String SERIALIZATION_START = StageMetricsFilter.class.getName() + ".SERIALIZATION_START";
+
+    private final StageMetrics stageMetrics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + LinkTemplates.INDEX_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            String endpoint = StageMetrics.endpoint(request);
+            Object serializationStart = request.getAttribute(SERIALIZATION_START);
+            if (serializationStart != null) {
+                stageMetrics.record(endpoint, StageMetrics.SERIALIZATION, System.nanoTime() - (long) serializationStart);
+            }
+            stageMetrics.recordStatements(endpoint, StatementCounter.count());
+        }
+    }
+}
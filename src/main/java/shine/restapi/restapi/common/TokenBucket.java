@@ -0,0 +1,63 @@
+package shine.restapi.restapi.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 잠금 없는 token bucket.
+ * <p>
+ * 토큰 수와 마지막 충전 시각을 따로 두지 않고, "버킷이 다시 가득 차는 시각" 하나만 AtomicLong 에 둔다. (GCRA)
+ * 남은 토큰은 (capacity * interval - (fullAt - now)) / interval 로 계산되고,
+ * 토큰을 하나 꺼내는 것은 fullAt 을 interval 만큼 미루는 CAS 한 번이다.
+ * 시간은 System.nanoTime() 기준이며 호출하는 쪽이 넘긴다.
+ */
+public final class TokenBucket {
+
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity        한 번에 쓸 수 있는 최대 토큰 수
+     * @param refillPerSecond 초당 다시 채워지는 토큰 수
+     * @param now             만든 시각. 버킷은 가득 찬 상태로 시작한다.
+     */
+    public TokenBucket(int capacity, double refillPerSecond, long now) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity 와 refillPerSecond 는 0 보다 커야 합니다.");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * 토큰 하나를 꺼낸다.
+     *
+     * @return 꺼냈으면 남은 토큰 수(0 이상), 토큰이 없으면 다음 토큰이 찰 때까지 남은 나노초에 - 를 붙인 값
+     */
+    public long tryConsume(long now) {
+        for (;;) {
+            long current = fullAt.get();
+            long debt = Math.max(current - now, 0) + intervalNanos;
+            if (debt > burstNanos) {
+                return -(debt - burstNanos);
+            }
+            if (fullAt.compareAndSet(current, now + debt)) {
+                return (burstNanos - debt) / intervalNanos;
+            }
+        }
+    }
+
+    /**
+     * 버킷이 다시 가득 찰 때까지 남은 나노초.
+     */
+    public long nanosUntilFull(long now) {
+        return Math.max(fullAt.get() - now, 0);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,20 @@
+package shine.restapi.restapi.common;
+
+import java.time.Duration;
+
+/**
+ * 클라이언트가 요청 한도를 다 썼을 때 던진다. ApiExceptionHandler 가 429 + Retry-After 로 바꾼다.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,31 @@
+package shine.restapi.restapi.enrollments;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * event 참가 신청 하나. 같은 event 에 같은 attendee 는 한 번만 신청할 수 있다. (unique 제약)
+ * 좌석 수는 Event.enrollmentCount 로 따로 센다.
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_attendee", columnNames = {"eventId", "attendee"}))
+public class Enrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private Integer eventId;
+    @Column(nullable = false, length = 100)
+    private String attendee;
+    @Column(nullable = false)
+    private LocalDateTime enrolledAt;
+}
@@ -0,0 +1,110 @@
+package shine.restapi.restapi.enrollments;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import shine.restapi.restapi.common.BinaryFormatConfig;
+import shine.restapi.restapi.common.ErrorsResource;
+import shine.restapi.restapi.common.LinkTemplates;
+import shine.restapi.restapi.events.EventLinks;
+import shine.restapi.restapi.events.EventRepository;
+import shine.restapi.restapi.events.EventSeats;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Optional;
+
+/**
+ * event 참가 신청. 신청(POST), 신청 현황(GET), 신청 조회(GET /{id}), 취소(DELETE /{id}).
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(value = "/api/events/{eventId}/enrollments", produces = {MediaTypes.HAL_JSON_VALUE, BinaryFormatConfig.SMILE_VALUE, BinaryFormatConfig.CBOR_VALUE})
+@RequiredArgsConstructor
+public class EnrollmentController {
+
+    static final Link ENROLL_PROFILE = Link.of("/docs/index.html#resource-enrollments-create", "profile");
+    static final Link SEATS_PROFILE = Link.of("/docs/index.html#resource-enrollments-seats", "profile");
+
+    private final EnrollmentService enrollmentService;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EventRepository eventRepository;
+
+    @PostMapping
+    public ResponseEntity enroll(@PathVariable Integer eventId,
+                                 @Validated @RequestBody EnrollmentDto enrollmentDto,
+                                 Errors errors) {
+        if (errors.hasErrors()) {
+            return ResponseEntity.badRequest().body(ErrorsResource.validationFailure(errors));
+        }
+
+        EnrollmentResult result;
+        try {
+            result = enrollmentService.enroll(eventId, enrollmentDto.getAttendee());
+        } catch (EnrollmentException e) {
+            return rejected(e);
+        }
+
+        LinkTemplates links = LinkTemplates.current();
+        Enrollment enrollment = result.getEnrollment();
+        EnrollmentResource resource = new EnrollmentResource(enrollment, links);
+        resource.add(ENROLL_PROFILE);
+        return ResponseEntity.created(URI.create(EnrollmentLinks.of(links).enrollment(eventId, enrollment.getId()))).body(resource);
+    }
+
+    /**
+     * 신청 수와 남은 자리. 캐시를 거치지 않는다.
+     */
+    @GetMapping
+    public ResponseEntity getSeats(@PathVariable Integer eventId) {
+        Optional<EventSeats> seats = eventRepository.findSeatsById(eventId);
+        if (seats.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        EntityModel<EventSeats> resource = EntityModel.of(seats.get(),
+                Link.of(EnrollmentLinks.current().enrollments(eventId), IanaLinkRelations.SELF),
+                Link.of(EventLinks.current().event(eventId), "event"),
+                SEATS_PROFILE);
+        return ResponseEntity.ok(resource);
+    }
+
+    @GetMapping("/{enrollmentId}")
+    public ResponseEntity getEnrollment(@PathVariable Integer eventId, @PathVariable Long enrollmentId) {
+        return enrollmentRepository.findByIdAndEventId(enrollmentId, eventId)
+                .map(enrollment -> ResponseEntity.ok(new EnrollmentResource(enrollment, LinkTemplates.current())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{enrollmentId}")
+    public ResponseEntity cancel(@PathVariable Integer eventId, @PathVariable Long enrollmentId) {
+        try {
+            enrollmentService.cancel(eventId, enrollmentId);
+        } catch (EnrollmentException e) {
+            return rejected(e);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity rejected(EnrollmentException e) {
+        switch (e.getReason()) {
+            case EVENT_NOT_FOUND:
+            case ENROLLMENT_NOT_FOUND:
+                return ResponseEntity.notFound().build();
+            default:
+                Errors errors = new MapBindingResult(new HashMap<>(), "enrollment");
+                errors.reject(e.getReason().getCode(), e.getMessage());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorsResource(errors));
+        }
+    }
+}
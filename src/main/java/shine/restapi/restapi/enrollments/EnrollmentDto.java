@@ -0,0 +1,18 @@
+package shine.restapi.restapi.enrollments;
+
+import lombok.*;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class EnrollmentDto {
+
+    @NotBlank
+    @Size(max = 100)
+    private String attendee;
+}
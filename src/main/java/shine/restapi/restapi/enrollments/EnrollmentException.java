@@ -0,0 +1,41 @@
+package shine.restapi.restapi.enrollments;
+
+/**
+ * 신청이나 취소를 받을 수 없을 때 던진다. 트랜잭션을 되돌리고 EnrollmentController 가 reason 에 맞는 상태 코드로 바꾼다.
+ */
+public class EnrollmentException extends RuntimeException {
+
+    public enum Reason {
+        /** event 가 없다. (404) */
+        EVENT_NOT_FOUND("eventNotFound"),
+        /** 신청이 없다. (404) */
+        ENROLLMENT_NOT_FOUND("enrollmentNotFound"),
+        /** 신청 기간이 아니거나 공개되지 않은 event 다. (409) */
+        ENROLLMENT_CLOSED("enrollmentClosed"),
+        /** 자리가 없다. (409) */
+        EVENT_FULL("eventFull"),
+        /** 이미 신청했다. (409) */
+        ALREADY_ENROLLED("alreadyEnrolled");
+
+        private final String code;
+
+        Reason(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+
+    private final Reason reason;
+
+    public EnrollmentException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,52 @@
+package shine.restapi.restapi.enrollments;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import shine.restapi.restapi.common.LinkTemplates;
+
+/**
+ * 참가 신청 링크. EnrollmentController 의 매핑 경로(/api/events/{eventId}/enrollments)를 {eventId} 앞뒤로 나눠 두고,
+ * base URI 마다 LinkTemplates 에 한 번 만들어 둔다.
+ */
+public final class EnrollmentLinks {
+
+    static final String ENROLLMENTS_PATH = LinkTemplates.mappingOf(EnrollmentController.class);
+    private static final String EVENT_ID = "{eventId}";
+
+    private final String prefix;
+    private final String suffix;
+
+    private EnrollmentLinks(String base) {
+        int eventId = ENROLLMENTS_PATH.indexOf(EVENT_ID);
+        this.prefix = base + ENROLLMENTS_PATH.substring(0, eventId);
+        this.suffix = ENROLLMENTS_PATH.substring(eventId + EVENT_ID.length());
+    }
+
+    public static EnrollmentLinks of(LinkTemplates links) {
+        return links.get(EnrollmentLinks.class, EnrollmentLinks::new);
+    }
+
+    /**
+     * 현재 요청의 base URI 에 해당하는 링크.
+     */
+    public static EnrollmentLinks current() {
+        return of(LinkTemplates.current());
+    }
+
+    public static EnrollmentLinks forRequest(ServerHttpRequest request) {
+        return of(LinkTemplates.forRequest(request));
+    }
+
+    /**
+     * /api/events/{eventId}/enrollments
+     */
+    public String enrollments(Object eventId) {
+        return prefix + eventId + suffix;
+    }
+
+    /**
+     * /api/events/{eventId}/enrollments/{enrollmentId}
+     */
+    public String enrollment(Object eventId, Object enrollmentId) {
+        return enrollments(eventId) + "/" + enrollmentId;
+    }
+}
@@ -0,0 +1,18 @@
+package shine.restapi.restapi.enrollments;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    Optional<Enrollment> findByIdAndEventId(Long id, Integer eventId);
+
+    long countByEventId(Integer eventId);
+
+    @Modifying
+    @Query("delete from Enrollment e where e.id = :id and e.eventId = :eventId")
+    int deleteByIdAndEventId(Long id, Integer eventId);
+}
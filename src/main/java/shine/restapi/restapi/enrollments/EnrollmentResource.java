@@ -0,0 +1,18 @@
+package shine.restapi.restapi.enrollments;
+
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import shine.restapi.restapi.common.LinkTemplates;
+import shine.restapi.restapi.events.EventLinks;
+
+public class EnrollmentResource extends EntityModel<Enrollment> {
+
+    public EnrollmentResource(Enrollment content, LinkTemplates links) {
+        super(content);
+        EnrollmentLinks enrollmentLinks = EnrollmentLinks.of(links);
+        add(Link.of(enrollmentLinks.enrollment(content.getEventId(), content.getId()), IanaLinkRelations.SELF));
+        add(Link.of(EventLinks.of(links).event(content.getEventId()), "event"));
+        add(Link.of(enrollmentLinks.enrollments(content.getEventId()), "enrollments"));
+    }
+}
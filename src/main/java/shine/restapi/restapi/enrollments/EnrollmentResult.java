@@ -0,0 +1,17 @@
+package shine.restapi.restapi.enrollments;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import shine.restapi.restapi.events.EventSeats;
+
+/**
+ * 신청/취소 결과. statusChanged 이면 EventStatus 가 바뀌었으므로 event 캐시를 비운다.
+ */
+@Getter
+@AllArgsConstructor
+public class EnrollmentResult {
+
+    private final Enrollment enrollment; // 취소면 null
+    private final EventSeats seats;
+    private final boolean statusChanged;
+}
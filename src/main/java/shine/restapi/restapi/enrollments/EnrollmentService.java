@@ -0,0 +1,126 @@
+package shine.restapi.restapi.enrollments;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import shine.restapi.restapi.events.Event;
+import shine.restapi.restapi.events.EventChange;
+import shine.restapi.restapi.events.EventChangeRecorder;
+import shine.restapi.restapi.events.EventRepository;
+import shine.restapi.restapi.events.EventSeats;
+import shine.restapi.restapi.events.EventStatistics;
+import shine.restapi.restapi.events.EventStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static shine.restapi.restapi.enrollments.EnrollmentException.Reason.*;
+
+/**
+ * 참가 신청과 취소.
+ * <p>
+ * 좌석은 event 행의 enrollmentCount 를 조건부 UPDATE 한 문장(EventRepository.reserveSeat)으로 센다.
+ * 행을 먼저 읽고 잠그지 않으므로, 같은 event 에 신청이 몰려도 각 트랜잭션이 event 행 잠금을 잡고 있는 시간은
+ * UPDATE 부터 커밋까지뿐이다. 그래서 enrollment INSERT(중복 신청 확인)를 먼저 하고 UPDATE 를 맨 마지막에 한다.
+ * 자리가 없거나 신청 기간이 아니면 예외를 던져서 INSERT 도 함께 되돌린다.
+ * <p>
+ * EventStatus 가 바뀌었을 때만(첫 신청, 마감, 마감 후 취소) 변경 내역을 남기고 커밋 뒤에 event 캐시를 비운다.
+ * 마감과 마감 후 취소는 EventStatistics 에도 반영한다. 첫 신청은 이전 상태(PUBLISHED 인지)를 알 수 없으므로 reconcile 에 맡긴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentService {
+
+    private final EventRepository eventRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EventChangeRecorder eventChangeRecorder;
+    private final EventStatistics eventStatistics;
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EventRepository.EVENTS_CACHE, key = "#eventId", condition = "#result.statusChanged"),
+            @CacheEvict(cacheNames = EventRepository.EVENT_PAGES_CACHE, allEntries = true, condition = "#result.statusChanged")
+    })
+    public EnrollmentResult enroll(Integer eventId, String attendee) {
+        LocalDateTime now = LocalDateTime.now();
+        Enrollment enrollment = Enrollment.builder()
+                .eventId(eventId)
+                .attendee(attendee)
+                .enrolledAt(now)
+                .build();
+        try {
+            enrollmentRepository.saveAndFlush(enrollment);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOrMissing(e);
+        }
+
+        if (eventRepository.reserveSeat(eventId, now) == 0) {
+            throw rejection(eventId, now);
+        }
+        EventSeats seats = eventRepository.findSeatsById(eventId).orElseThrow();
+        boolean statusChanged = seats.getEnrollmentCount() == 1 || seats.getEventStatus() == EventStatus.CLOSED_ENROLLMENT;
+        if (statusChanged) {
+            eventChangeRecorder.record(eventId, EventChange.Type.UPDATED);
+        }
+        if (seats.getEventStatus() == EventStatus.CLOSED_ENROLLMENT && seats.getEnrollmentCount() > 1) {
+            eventStatistics.statusChanged(EventStatus.BEGAN_ENROLLMEND, EventStatus.CLOSED_ENROLLMENT);
+        }
+        return new EnrollmentResult(enrollment, seats, statusChanged);
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EventRepository.EVENTS_CACHE, key = "#eventId", condition = "#result.statusChanged"),
+            @CacheEvict(cacheNames = EventRepository.EVENT_PAGES_CACHE, allEntries = true, condition = "#result.statusChanged")
+    })
+    public EnrollmentResult cancel(Integer eventId, Long enrollmentId) {
+        LocalDateTime now = LocalDateTime.now();
+        // 같은 신청을 동시에 취소해도 DELETE 가 1 인 쪽만 좌석을 돌려놓는다.
+        if (enrollmentRepository.deleteByIdAndEventId(enrollmentId, eventId) == 0) {
+            throw new EnrollmentException(ENROLLMENT_NOT_FOUND, "신청 " + enrollmentId + " 이 없습니다.");
+        }
+        if (eventRepository.releaseSeat(eventId, now) == 0) {
+            throw new EnrollmentException(ENROLLMENT_CLOSED, "신청 기간이 끝나서 취소할 수 없습니다.");
+        }
+        EventSeats seats = eventRepository.findSeatsById(eventId).orElseThrow();
+        boolean statusChanged = seats.getLimitOfEnrollment() > 0
+                && seats.getEnrollmentCount() == seats.getLimitOfEnrollment() - 1;
+        if (statusChanged) {
+            eventChangeRecorder.record(eventId, EventChange.Type.UPDATED);
+            eventStatistics.statusChanged(EventStatus.CLOSED_ENROLLMENT, EventStatus.BEGAN_ENROLLMEND);
+        }
+        return new EnrollmentResult(null, seats, statusChanged);
+    }
+
+    /**
+     * unique 제약이면 중복 신청, FK 제약(prod 스키마)이면 없는 event 다.
+     */
+    private EnrollmentException duplicateOrMissing(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+        if (message.contains("fk_enrollment_event")) {
+            return new EnrollmentException(EVENT_NOT_FOUND, "event 가 없습니다.");
+        }
+        return new EnrollmentException(ALREADY_ENROLLED, "이미 신청했습니다.");
+    }
+
+    /**
+     * 좌석을 잡지 못한 이유. 실패한 경우에만 event 를 읽는다.
+     */
+    private EnrollmentException rejection(Integer eventId, LocalDateTime now) {
+        Optional<Event> optionalEvent = eventRepository.findUncachedById(eventId);
+        if (optionalEvent.isEmpty()) {
+            return new EnrollmentException(EVENT_NOT_FOUND, "event 가 없습니다.");
+        }
+        Event event = optionalEvent.get();
+        boolean inWindow = event.getBeginEnrollmentDateTime() != null && event.getCloseEnrollmentDateTime() != null
+                && !now.isBefore(event.getBeginEnrollmentDateTime()) && now.isBefore(event.getCloseEnrollmentDateTime());
+        boolean full = event.getLimitOfEnrollment() > 0 && event.getEnrollmentCount() >= event.getLimitOfEnrollment();
+        if (inWindow && full) {
+            return new EnrollmentException(EVENT_FULL, "자리가 없습니다. (" + event.getLimitOfEnrollment() + "명)");
+        }
+        return new EnrollmentException(ENROLLMENT_CLOSED, "신청 기간이 아니거나 신청을 받지 않는 event 입니다.");
+    }
+}
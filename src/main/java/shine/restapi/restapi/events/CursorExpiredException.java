@@ -0,0 +1,12 @@
+package shine.restapi.restapi.events;
+
+/**
+ * 커서가 가리키는 변경 내역이 보관 기간(events.changes.retention)이 지나 지워졌을 때 던진다.
+ * 구독자는 GET /api/events 로 다시 맞춘 뒤 현재 위치부터 구독해야 한다.
+ */
+public class CursorExpiredException extends RuntimeException {
+
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
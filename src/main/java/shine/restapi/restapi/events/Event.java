@@ -1,6 +1,10 @@
 package shine.restapi.restapi.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -12,17 +16,34 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
 @Entity
+@DynamicUpdate // 바뀐 컬럼만 UPDATE 한다. (PATCH 로 이름만 바꾸면 name, version 만 쓴다)
+@Indexed
+@Table(indexes = {
+        // 상태와 날짜 범위로 검색하고 그 날짜로 정렬하는 목록(EventSpecifications, findSeek)용. 뒤의 id 는 (정렬 값, id) 순서를
+        // 인덱스 순서대로 읽게 해서 정렬을 없앤다. 모든 컬럼을 읽으므로 row 는 테이블에서 가져온다.
+        // 나머지 조건과 정렬은 인덱스 없이 걸러낸 row 를 정렬한다. 인덱스마다 event 쓰기가 늘어나서 더 두지 않는다.
+        @Index(name = "ix_event_status_begin_event", columnList = "eventStatus, beginEventDateTime, id"),
+        @Index(name = "ix_event_status_close_enrollment", columnList = "eventStatus, closeEnrollmentDateTime, id"),
+        @Index(name = "ix_event_status_end_event", columnList = "eventStatus, endEventDateTime, id"),
+        @Index(name = "ix_event_location", columnList = "location"), // 앞부분 일치 (PostgreSQL 은 ix_event_location_pattern)
+        @Index(name = "ix_event_next_transition", columnList = "nextTransitionAt") // EventLifecycleScheduler
+})
 public class Event {
 
     @Id
-    @GeneratedValue
+    @org.springframework.data.annotation.Id // reactive 프로파일의 R2DBC 매핑용
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50) // pooled: 50개마다 sequence 한 번
     private Integer id;
+    @FullTextField(analyzer = EventAnalysisConfigurer.ANALYZER)
     private String name;
+    @FullTextField(analyzer = EventAnalysisConfigurer.ANALYZER)
     private String description;
     private LocalDateTime beginEnrollmentDateTime;
     private LocalDateTime closeEnrollmentDateTime;
     private LocalDateTime beginEventDateTime;
     private LocalDateTime endEventDateTime;
+    @FullTextField(analyzer = EventAnalysisConfigurer.ANALYZER)
     private String location; // (optional) 이게 없으면 온라인 모임
     private int basePrice; // (optional)
     private int maxPrice; // (optional)
@@ -31,6 +52,43 @@ public class Event {
     private boolean free;
     @Enumerated(EnumType.STRING)
     private EventStatus eventStatus = EventStatus.DRAFT;
+    @Column(updatable = false) // EventRepository.reserveSeat/releaseSeat 의 조건부 UPDATE 로만 바꾼다.
+    @JsonIgnore // 캐시된 event 에는 지난 값이 있을 수 있으므로 /enrollments 에서 따로 내려준다.
+    private int enrollmentCount;
+    @JsonIgnore // 다음 상태 전이 시각. EventLifecycleProcessor 는 이 시각이 지난 event 만 인덱스로 골라낸다.
+    private LocalDateTime nextTransitionAt;
+    @Version // reactive 쪽은 ReactiveEventRepositoryImpl 에서 직접 비교한다. (JPA 가 Spring Data @Version 을 허용하지 않는다)
+    @JsonIgnore // 본문 대신 ETag 로 내려준다.
+    private Integer version;
+
+    /**
+     * 지금 상태에서 다음 상태로 넘어갈 시각을 정한다. DRAFT, ENDED 는 스스로 바뀌지 않는다.
+     * 네이티브 UPDATE(EventRepository 의 reserveSeat, rescheduleTransitions 등)도 같은 규칙으로 값을 넣는다.
+     */
+    @PrePersist
+    @PreUpdate
+    public void scheduleNextTransition() {
+        if (eventStatus == null) {
+            this.nextTransitionAt = null;
+            return;
+        }
+        switch (eventStatus) {
+            case PUBLISHED:
+                this.nextTransitionAt = beginEnrollmentDateTime;
+                break;
+            case BEGAN_ENROLLMEND:
+                this.nextTransitionAt = closeEnrollmentDateTime;
+                break;
+            case CLOSED_ENROLLMENT:
+                this.nextTransitionAt = beginEventDateTime;
+                break;
+            case STARTED:
+                this.nextTransitionAt = endEventDateTime;
+                break;
+            default:
+                this.nextTransitionAt = null;
+        }
+    }
 
     public void update() {
         if (basePrice == 0 && maxPrice == 0) {
@@ -0,0 +1,28 @@
+package shine.restapi.restapi.events;
+
+import org.apache.lucene.analysis.cjk.CJKBigramFilterFactory;
+import org.apache.lucene.analysis.cjk.CJKWidthFilterFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+/**
+ * event 전문 검색용 analyzer.
+ * 한글은 띄어쓰기 단위로만 자르면 "강남역" 으로 "강남" 을 찾을 수 없으므로 bigram 으로 쪼갠다.
+ */
+public class EventAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    public static final String ANALYZER = "event";
+
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        context.analyzer(ANALYZER).custom()
+                .tokenizer(StandardTokenizerFactory.class)
+                .tokenFilter(CJKWidthFilterFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(ASCIIFoldingFilterFactory.class)
+                .tokenFilter(CJKBigramFilterFactory.class);
+    }
+}
@@ -0,0 +1,50 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 여러 event 를 한 트랜잭션에서 저장한다.
+ * hibernate.jdbc.batch_size 만큼 모아서 flush 하므로 INSERT 가 JDBC batch 로 묶이고,
+ * pooled id 생성기 덕분에 sequence 조회도 allocationSize 마다 한 번이다.
+ * flush 후에는 영속성 컨텍스트를 비워서 dirty checking 과 flush 비용이 건수에 따라 커지지 않게 한다.
+ * 응답을 만들기 위해 저장한 event(최대 events.batch.max-size 개)는 돌려주는 목록에 모두 남으므로 메모리는 건수만큼 쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventBatchService {
+
+    private final EntityManager entityManager;
+    private final EventMapper eventMapper;
+    private final EventChangeRecorder eventChangeRecorder;
+    private final EventStatistics eventStatistics;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Transactional
+    @CacheEvict(cacheNames = EventRepository.EVENT_PAGES_CACHE, allEntries = true)
+    public List<Event> createAll(List<EventDto> eventDtos) {
+        List<Event> events = new ArrayList<>(eventDtos.size());
+        for (EventDto eventDto : eventDtos) {
+            Event event = eventMapper.toEvent(eventDto);
+            event.update();
+            entityManager.persist(event);
+            eventChangeRecorder.record(event.getId(), EventChange.Type.CREATED);
+            eventStatistics.created(event);
+            events.add(event);
+            if (events.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,39 @@
+package shine.restapi.restapi.events;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * event 변경 내역(outbox). event 를 바꾸는 트랜잭션 안에서 EventChangeRecorder 가 남긴다.
+ * position 은 커밋된 순서대로 EventChangeFeed 가 빈틈없이 매기고, 구독자는 이 값을 커서로 쓴다.
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(indexes = @Index(name = "ux_event_change_position", columnList = "change_position", unique = true))
+public class EventChange {
+
+    public enum Type {
+        CREATED, UPDATED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_change_seq")
+    @SequenceGenerator(name = "event_change_seq", sequenceName = "event_change_seq", allocationSize = 50)
+    private Long id;
+    @Setter
+    @Column(name = "change_position")
+    private Long position;
+    @Column(nullable = false)
+    private Integer eventId;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type changeType;
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
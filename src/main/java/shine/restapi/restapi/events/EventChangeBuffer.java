@@ -0,0 +1,56 @@
+package shine.restapi.restapi.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 최근 변경 내역을 position 순서대로 담아두는 고정 크기 ring buffer.
+ * position 은 빈틈없이 1 씩 늘어나므로 position % capacity 자리에 바로 넣고 바로 찾는다.
+ * 쓰기는 EventChangeFeed 의 poll 스레드 하나만 하고, 읽기는 여러 요청이 한다.
+ */
+final class EventChangeBuffer {
+
+    private final EventChangeMessage[] ring;
+    private long head; // 마지막으로 넣은 position
+    private int size;
+
+    EventChangeBuffer(int capacity, long head) {
+        this.ring = new EventChangeMessage[capacity];
+        this.head = head;
+    }
+
+    synchronized void append(List<EventChangeMessage> messages) {
+        for (EventChangeMessage message : messages) {
+            if (message.getPosition() != head + 1) {
+                // 보관 기간이 지나 지워졌거나 DB 가 바뀌어서 이어지지 않으면 새로 시작한다.
+                size = 0;
+            }
+            head = message.getPosition();
+            ring[(int) (head % ring.length)] = message;
+            size = Math.min(size + 1, ring.length);
+        }
+    }
+
+    synchronized long head() {
+        return head;
+    }
+
+    /**
+     * position 다음부터 최대 limit 개. 버퍼에서 이미 밀려난 위치면 null.
+     */
+    synchronized List<EventChangeMessage> after(long position, int limit) {
+        if (position >= head) {
+            return Collections.emptyList();
+        }
+        if (position < head - size) {
+            return null;
+        }
+        int count = (int) Math.min(limit, head - position);
+        List<EventChangeMessage> messages = new ArrayList<>(count);
+        for (long p = position + 1; p <= position + count; p++) {
+            messages.add(ring[(int) (p % ring.length)]);
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,119 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import shine.restapi.restapi.common.ErrorsResource;
+import shine.restapi.restapi.common.LinkTemplates;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * event 변경 내역 구독. 커서(position) 다음의 변경을 long-poll(HAL) 이나 SSE 로 받는다.
+ * 변경이 없으면 long-poll 은 wait 만큼 기다렸다가 빈 목록을 돌려주고, SSE 는 연결을 열어둔 채 변경이 생길 때마다 보낸다.
+ * 기다리는 동안에는 요청 스레드와 동시 처리 자리를 잡지 않는다.
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "events.changes.enabled", havingValue = "true", matchIfMissing = true)
+@RequestMapping("/api/events/changes")
+@RequiredArgsConstructor
+public class EventChangeController {
+
+    static final Link CHANGES_PROFILE = Link.of("/docs/index.html#resource-events-changes", "profile");
+    private static final int MAX_LIMIT = 500;
+    private static final int MAX_WAIT_SECONDS = 60;
+
+    private final EventChangeFeed eventChangeFeed;
+
+    @Value("${events.changes.sse-timeout:10m}")
+    private Duration sseTimeout;
+
+    /**
+     * long-poll. after 가 없으면 지금부터의 변경을 기다린다. wait(초)가 0 이면 기다리지 않는다.
+     * 응답의 position(next 링크)으로 다음 요청을 보낸다.
+     */
+    @GetMapping(produces = {MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Object poll(@RequestParam(required = false) Long after,
+                       @RequestParam(defaultValue = "100") int limit,
+                       @RequestParam(defaultValue = "25") int wait) {
+        if ((after != null && after < 0) || limit < 1 || wait < 0) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "changes");
+            errors.reject("wrongValue", "after 는 0 이상, limit 은 1 이상, wait 는 0 이상이어야 합니다.");
+            return ResponseEntity.badRequest().body(ErrorsResource.validationFailure(errors));
+        }
+        long position = after != null ? after : eventChangeFeed.head();
+        int max = Math.min(limit, MAX_LIMIT);
+        LinkTemplates links = LinkTemplates.current(); // 결과는 다른 스레드에서 만들어지므로 미리 구한다.
+
+        try {
+            if (wait == 0) {
+                return ResponseEntity.ok(toModel(position, eventChangeFeed.read(position, max), links));
+            }
+            DeferredResult<ResponseEntity<EventChangesResource>> result = new DeferredResult<>(
+                    TimeUnit.SECONDS.toMillis(Math.min(wait, MAX_WAIT_SECONDS)),
+                    ResponseEntity.ok(toModel(position, List.of(), links)));
+            Runnable cancel = eventChangeFeed.await(position, max,
+                    changes -> result.setResult(ResponseEntity.ok(toModel(position, changes, links))));
+            result.onCompletion(cancel);
+            return result;
+        } catch (CursorExpiredException e) {
+            return cursorExpired(e);
+        }
+    }
+
+    /**
+     * SSE. 재연결할 때 브라우저가 보내는 Last-Event-ID 를 after 보다 먼저 쓴다.
+     * 이벤트 하나(name=changes, id=마지막 position)에 한 번의 poll 에서 읽은 변경을 JSON 배열로 담는다.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) Long after,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Long cursor = lastEventId != null ? lastEventId : after;
+        if (cursor != null && cursor < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        long position = cursor != null ? cursor : eventChangeFeed.head();
+        try {
+            eventChangeFeed.read(position, 1);
+        } catch (CursorExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        if (!eventChangeFeed.subscribe(position, emitter)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+
+    private EventChangesResource toModel(long after, List<EventChangeMessage> changes, LinkTemplates links) {
+        EventChangesResource resource = new EventChangesResource(after, changes, links);
+        resource.add(CHANGES_PROFILE);
+        return resource;
+    }
+
+    private ResponseEntity<ErrorsResource> cursorExpired(CursorExpiredException e) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "changes");
+        errors.reject("cursorExpired", e.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(new ErrorsResource(errors));
+    }
+}
@@ -0,0 +1,344 @@
+package shine.restapi.restapi.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import shine.restapi.restapi.common.SchedulerLeases;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * event_change 테이블(outbox)을 구독자(long-poll, SSE)에게 흘려보낸다.
+ * <p>
+ * 트랜잭션은 id 순서대로 커밋되지 않으므로 id 를 커서로 쓰면 늦게 커밋된 변경을 놓친다.
+ * 그래서 lease 를 가진 인스턴스 하나가 커밋된(보이는) 변경에만 position 을 max + 1 부터 빈틈없이 매기고(sequence),
+ * 모든 인스턴스는 자기가 본 마지막 position 뒤를 인덱스로 읽어서(fetch) 최근 bufferSize 개를 메모리에 둔다.
+ * 구독자는 버퍼에서 읽고, 버퍼보다 오래된 커서만 테이블에서 읽는다.
+ * <p>
+ * poll 은 pollInterval 마다 돌고, 이 인스턴스에서 커밋된 변경이 있으면 바로 돈다.
+ * 한 번의 poll 에서 읽은 변경은 구독자마다 한 번에 묶어서 보낸다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "events.changes.enabled", havingValue = "true", matchIfMissing = true)
+public class EventChangeFeed implements SmartLifecycle {
+
+    static final String LEASE = "event-change-sequencer";
+
+    private final EventChangeRepository eventChangeRepository;
+    private final SchedulerLeases schedulerLeases;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${events.changes.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${events.changes.batch-size:500}")
+    private int batchSize;
+
+    @Value("${events.changes.poll-interval:200ms}")
+    private Duration pollInterval;
+
+    @Value("${events.changes.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${events.changes.retention:7d}")
+    private Duration retention;
+
+    @Value("${events.changes.lease-ttl:30s}")
+    private Duration leaseTtl;
+
+    @Value("${events.changes.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private volatile EventChangeBuffer buffer;
+    private volatile ScheduledExecutorService poller;
+    private ExecutorService sender;
+    private long leaseCheckAt;
+    private long leaderUntil;
+    private long cleanupAt;
+    private long heartbeatAt;
+
+    public EventChangeFeed(EventChangeRepository eventChangeRepository, SchedulerLeases schedulerLeases,
+                           TransactionTemplate transactionTemplate) {
+        this.eventChangeRepository = eventChangeRepository;
+        this.schedulerLeases = schedulerLeases;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void start() {
+        buffer = new EventChangeBuffer(bufferSize, eventChangeRepository.findMaxPosition().orElse(0L));
+        sender = Executors.newFixedThreadPool(4, daemon("event-changes-sender"));
+        poller = Executors.newSingleThreadScheduledExecutor(daemon("event-changes"));
+        poller.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        poller.shutdownNow();
+        sender.shutdownNow();
+        poller = null;
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return poller != null;
+    }
+
+    /**
+     * 커밋 직후 EventChangeRecorder 가 부른다. 이미 깨워둔 poll 이 있으면 합친다.
+     */
+    public void wakeUp() {
+        ScheduledExecutorService current = poller;
+        if (current != null && wakeUpPending.compareAndSet(false, true)) {
+            try {
+                current.execute(this::poll);
+            } catch (RejectedExecutionException ignored) {
+            }
+        }
+    }
+
+    /**
+     * 지금까지 받은 마지막 position. 커서 없이 구독하면 여기서부터 받는다.
+     */
+    public long head() {
+        return buffer.head();
+    }
+
+    /**
+     * position 다음의 변경 내역을 최대 limit 개 읽는다. 버퍼에 없으면 테이블에서 읽는다.
+     */
+    public List<EventChangeMessage> read(long position, int limit) {
+        List<EventChangeMessage> messages = buffer.after(position, limit);
+        if (messages != null) {
+            return messages;
+        }
+        long oldest = eventChangeRepository.findMinPosition().orElse(buffer.head() + 1);
+        if (position < oldest - 1) {
+            throw new CursorExpiredException("position " + position + " 다음의 변경 내역은 보관 기간이 지나 지워졌습니다.");
+        }
+        return eventChangeRepository.findAfter(position, PageRequest.of(0, limit)).stream()
+                .map(EventChangeMessage::of)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * long-poll. position 뒤에 변경이 있으면 바로, 없으면 생길 때 callback 을 부른다.
+     * 돌려주는 Runnable 로 기다리기를 그만둔다. (timeout)
+     */
+    public Runnable await(long position, int limit, Consumer<List<EventChangeMessage>> callback) {
+        List<EventChangeMessage> messages = read(position, limit);
+        if (!messages.isEmpty()) {
+            callback.accept(messages);
+            return () -> {
+            };
+        }
+        Waiter waiter = new Waiter(position, limit, callback);
+        waiters.add(waiter);
+        // 등록하는 사이에 들어온 변경을 놓치지 않게 한 번 더 본다.
+        if (buffer.head() > position) {
+            complete(waiter);
+        }
+        return () -> waiters.remove(waiter);
+    }
+
+    /**
+     * SSE. position 뒤의 변경을 보내고, 이후 변경이 생길 때마다 poll 한 번에 읽은 만큼 묶어서 보낸다.
+     */
+    public boolean subscribe(long position, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            return false;
+        }
+        Subscriber subscriber = new Subscriber(position, emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        schedule(subscriber);
+        return true;
+    }
+
+    private void poll() {
+        wakeUpPending.set(false);
+        try {
+            if (isLeader()) {
+                sequence();
+            }
+            fetch();
+            sendHeartbeats();
+        } catch (RuntimeException e) {
+            log.warn("event 변경 내역을 읽지 못했습니다.", e);
+        }
+    }
+
+    private boolean isLeader() {
+        long now = System.nanoTime();
+        if (now - leaseCheckAt >= 0) {
+            // lease 는 ttl 의 1/3 마다 늘린다.
+            leaseCheckAt = now + leaseTtl.toNanos() / 3;
+            if (schedulerLeases.tryAcquire(LEASE, leaseTtl)) {
+                leaderUntil = now + leaseTtl.toNanos();
+            }
+        }
+        return leaderUntil - now > 0;
+    }
+
+    /**
+     * 보이는(커밋된) 변경에만 position 을 매긴다. 뒤늦게 커밋된 변경은 다음 sequence 에서 더 큰 position 을 받는다.
+     * 두 인스턴스가 동시에 매기더라도 unique 인덱스 때문에 한쪽은 실패하고 다음 poll 에서 다시 매긴다.
+     */
+    private void sequence() {
+        int sequenced;
+        do {
+            sequenced = transactionTemplate.execute(status -> {
+                List<EventChange> changes = eventChangeRepository.findUnsequenced(PageRequest.of(0, batchSize));
+                if (changes.isEmpty()) {
+                    return 0;
+                }
+                long position = eventChangeRepository.findMaxPosition().orElse(0L);
+                for (EventChange change : changes) {
+                    change.setPosition(++position);
+                }
+                return changes.size();
+            });
+        } while (sequenced == batchSize);
+
+        long now = System.nanoTime();
+        if (now - cleanupAt >= 0) {
+            cleanupAt = now + TimeUnit.MINUTES.toNanos(1);
+            transactionTemplate.execute(status ->
+                    eventChangeRepository.deleteSequencedBefore(LocalDateTime.now().minus(retention)));
+        }
+    }
+
+    private void fetch() {
+        List<EventChangeMessage> messages;
+        boolean fetched = false;
+        do {
+            messages = eventChangeRepository.findAfter(buffer.head(), PageRequest.of(0, batchSize)).stream()
+                    .map(EventChangeMessage::of)
+                    .collect(Collectors.toList());
+            buffer.append(messages);
+            fetched |= !messages.isEmpty();
+        } while (messages.size() == batchSize);
+
+        if (fetched) {
+            waiters.forEach(this::complete);
+            subscribers.forEach(this::schedule);
+        }
+    }
+
+    private void complete(Waiter waiter) {
+        if (waiters.remove(waiter)) {
+            List<EventChangeMessage> messages = buffer.after(waiter.position, waiter.limit);
+            waiter.callback.accept(messages == null ? Collections.emptyList() : messages);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * 구독자의 커서가 head 에 닿을 때까지 보낸다. 느린 구독자는 sender 스레드 하나만 잡고 poll 은 막지 않는다.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            List<EventChangeMessage> messages;
+            while (!(messages = read(subscriber.position, batchSize)).isEmpty()) {
+                long last = messages.get(messages.size() - 1).getPosition();
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(last))
+                        .name("changes")
+                        .data(messages, MediaType.APPLICATION_JSON));
+                subscriber.position = last;
+            }
+        } catch (IOException | RuntimeException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (buffer.head() > subscriber.position) {
+            schedule(subscriber);
+        }
+    }
+
+    private void sendHeartbeats() {
+        long now = System.nanoTime();
+        if (now - heartbeatAt < 0 || subscribers.isEmpty()) {
+            return;
+        }
+        heartbeatAt = now + heartbeat.toNanos();
+        // 프록시가 유휴 연결을 끊지 않게 하고, 끊긴 구독자를 찾아낸다.
+        for (Subscriber subscriber : subscribers) {
+            sender.execute(() -> {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | RuntimeException e) {
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                }
+            });
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Waiter {
+        private final long position;
+        private final int limit;
+        private final Consumer<List<EventChangeMessage>> callback;
+
+        private Waiter(long position, int limit, Consumer<List<EventChangeMessage>> callback) {
+            this.position = position;
+            this.limit = limit;
+            this.callback = callback;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long position;
+
+        private Subscriber(long position, SseEmitter emitter) {
+            this.position = position;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package shine.restapi.restapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 구독자에게 내려주는 변경 내역. 바뀐 내용은 eventId 로 event 를 조회해서 얻는다.
+ */
+@Getter
+@AllArgsConstructor
+public class EventChangeMessage {
+
+    private final long position;
+    private final Integer eventId;
+    private final EventChange.Type type;
+    private final LocalDateTime changedAt;
+
+    static EventChangeMessage of(EventChange change) {
+        return new EventChangeMessage(change.getPosition(), change.getEventId(), change.getChangeType(), change.getChangedAt());
+    }
+}
@@ -0,0 +1,114 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import shine.restapi.restapi.common.ReadReplicas;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * event 를 바꾸는 트랜잭션 안에서 EventChange 를 남긴다. event 가 롤백되면 변경 내역도 같이 사라진다.
+ * 커밋되면 EventChangeFeed 를 깨워서 다음 poll 을 기다리지 않고 바로 내보내게 한다. (트랜잭션마다 한 번)
+ * <p>
+ * 캐시는 커밋 뒤에 한 번 지우지만, 커밋 전에 캐시를 놓쳐서 이전 행을 읽던 요청이 그 뒤에 캐시에 다시 넣을 수 있다.
+ * 그래서 events.cache.re-evict-delay 뒤에 한 번 더 지운다. 그보다 오래 걸린 읽기가 아니면 이전 값은 이 시간 안에 사라진다.
+ * read replica 를 쓰면 아직 따라오지 못한 replica 에서 읽은 값도 있으므로 replica 의 최대 지연(max-lag)이 지난 뒤에도 지운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventChangeRecorder implements SmartLifecycle {
+
+    private final EntityManager entityManager;
+    private final ObjectProvider<EventChangeFeed> eventChangeFeed;
+    private final ObjectProvider<ReadReplicas> readReplicas;
+    private final CacheManager cacheManager;
+
+    @Value("${events.cache.re-evict-delay:1s}")
+    private Duration reEvictDelay;
+
+    private volatile ScheduledExecutorService reEvictor;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Integer eventId, EventChange.Type type) {
+        entityManager.persist(EventChange.builder()
+                .eventId(eventId)
+                .changeType(type)
+                .changedAt(LocalDateTime.now())
+                .build());
+
+        @SuppressWarnings("unchecked")
+        Set<Integer> changedIds = (Set<Integer>) TransactionSynchronizationManager.getResource(this);
+        if (changedIds == null) {
+            Set<Integer> ids = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventChangeRecorder.this);
+                    if (status == STATUS_COMMITTED) {
+                        eventChangeFeed.ifAvailable(EventChangeFeed::wakeUp);
+                        reEvictLater(ids);
+                        readReplicas.ifAvailable(replicas -> replicas.runAfterMaxLag(() -> evict(ids)));
+                    }
+                }
+            });
+            changedIds = ids;
+        }
+        changedIds.add(eventId);
+    }
+
+    private void reEvictLater(Set<Integer> ids) {
+        ScheduledExecutorService current = reEvictor;
+        if (current == null || current.isShutdown()) {
+            return;
+        }
+        current.schedule(() -> evict(ids), reEvictDelay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void evict(Set<Integer> ids) {
+        Cache events = cacheManager.getCache(EventRepository.EVENTS_CACHE);
+        if (events != null) {
+            ids.forEach(events::evict);
+        }
+        Cache eventPages = cacheManager.getCache(EventRepository.EVENT_PAGES_CACHE);
+        if (eventPages != null) {
+            eventPages.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        reEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-cache-evict");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void stop() {
+        reEvictor.shutdownNow();
+        reEvictor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return reEvictor != null;
+    }
+}
@@ -0,0 +1,36 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventChangeRepository extends JpaRepository<EventChange, Long> {
+
+    /**
+     * 커밋됐지만 아직 position 이 없는 변경 내역.
+     */
+    @Query("select c from EventChange c where c.position is null order by c.id")
+    List<EventChange> findUnsequenced(Pageable pageable);
+
+    @Query("select c from EventChange c where c.position > :position order by c.position")
+    List<EventChange> findAfter(long position, Pageable pageable);
+
+    @Query("select max(c.position) from EventChange c")
+    Optional<Long> findMaxPosition();
+
+    @Query("select min(c.position) from EventChange c")
+    Optional<Long> findMinPosition();
+
+    /**
+     * 보관 기간이 지난 변경 내역을 지운다. 다음 position 을 이어서 매길 수 있도록 마지막 한 건은 남긴다.
+     */
+    @Modifying
+    @Query("delete from EventChange c where c.changedAt < :before " +
+            "and c.position < (select max(m.position) from EventChange m)")
+    int deleteSequencedBefore(LocalDateTime before);
+}
@@ -0,0 +1,31 @@
+package shine.restapi.restapi.events;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import shine.restapi.restapi.common.LinkTemplates;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * long-poll 응답. position 은 다음 요청의 커서이고 변경이 없으면 요청한 커서 그대로다.
+ */
+@Getter
+public class EventChangesResource extends RepresentationModel<EventChangesResource> {
+
+    private final long position;
+
+    @JsonProperty("_embedded")
+    private final Map<String, List<EventChangeMessage>> embedded;
+
+    public EventChangesResource(long after, List<EventChangeMessage> changes, LinkTemplates links) {
+        this.position = changes.isEmpty() ? after : changes.get(changes.size() - 1).getPosition();
+        this.embedded = Map.of("changes", changes);
+        EventLinks eventLinks = EventLinks.of(links);
+        add(Link.of(eventLinks.changes(after), IanaLinkRelations.SELF));
+        add(Link.of(eventLinks.changes(position), IanaLinkRelations.NEXT));
+    }
+}
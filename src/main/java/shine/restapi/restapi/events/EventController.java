@@ -1,116 +1,517 @@
 package shine.restapi.restapi.events;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.mediatype.hal.HalModelBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import shine.restapi.restapi.common.ApiClients;
+import shine.restapi.restapi.common.BinaryFormatConfig;
 import shine.restapi.restapi.common.ErrorsResource;
+import shine.restapi.restapi.common.LinkTemplates;
+import shine.restapi.restapi.enrollments.EnrollmentLinks;
+import shine.restapi.restapi.common.StageMetrics;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
 import java.net.URI;
-import java.util.Optional;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Controller
-@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(value = "/api/events", produces = {MediaTypes.HAL_JSON_VALUE, BinaryFormatConfig.SMILE_VALUE, BinaryFormatConfig.CBOR_VALUE})
 @RequiredArgsConstructor
 public class EventController {
 
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
+    static final Link CREATE_PROFILE = Link.of("/docs/index.html#resource-events-create", "profile");
+    static final Link BATCH_PROFILE = Link.of("/docs/index.html#resource-events-batch", "profile");
+    static final Link LIST_PROFILE = Link.of("/docs/index.html#resource-events-list", "profile");
+    static final Link SEARCH_PROFILE = Link.of("/docs/index.html#resource-events-search", "profile");
+    static final Link GET_PROFILE = Link.of("/docs/index.html#resource-events-get", "profile");
+    static final Link UPDATE_PROFILE = Link.of("/docs/index.html#resource-events-update", "profile");
+    static final Link PATCH_PROFILE = Link.of("/docs/index.html#resource-events-patch", "profile");
+
+    static final String MERGE_PATCH_VALUE = "application/merge-patch+json";
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+    private static final Set<String> PRICE_FIELDS = Set.of("basePrice", "maxPrice");
+    private static final Set<String> DATE_FIELDS = Set.of("beginEnrollmentDateTime", "closeEnrollmentDateTime",
+            "beginEventDateTime", "endEventDateTime");
+
     private final EventRepository eventRepository;
-    private final ModelMapper modelMapper;
+    private final EventService eventService;
+    private final EventMapper eventMapper;
     private final EventValidator eventValidator;
+    private final EventExportService eventExportService;
+    private final EventBatchService eventBatchService;
+    private final EventSearchService eventSearchService;
+    private final EventIdempotency eventIdempotency;
+    private final ApiClients apiClients;
+    private final StageMetrics stageMetrics;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${events.batch.max-size:50000}")
+    private int batchMaxSize;
+
+    @Value("${events.batch.max-failures:20}")
+    private int batchMaxFailures;
 
+    /**
+     * Idempotency-Key 헤더가 있으면 같은 키(클라이언트마다 따로. ApiClients)의 재시도에 처음 응답을 그대로 돌려주고 event 를 다시 만들지 않는다.
+     * 같은 키로 다른 내용을 보내면 422, 처음 요청이 아직 처리 중이면 기다리다가 409 를 돌려준다.
+     */
     @PostMapping
-    public ResponseEntity createEvent(@Validated @RequestBody EventDto eventDto, Errors errors) {
+    public ResponseEntity createEvent(@Validated @RequestBody EventDto eventDto, Errors errors,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                      HttpServletRequest request) throws IOException {
         if (errors.hasErrors()) {
             return badRequest(errors);
         }
-        // binding은 성공
+        if (idempotencyKey == null) {
+            return create(eventDto, errors, null, null);
+        }
+        if (!StringUtils.hasText(idempotencyKey) || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            errors.reject("wrongIdempotencyKey", IDEMPOTENCY_KEY + " 는 1~" + MAX_IDEMPOTENCY_KEY_LENGTH + "자여야 합니다.");
+            return badRequest(errors);
+        }
+
+        String key = EventIdempotency.key(apiClients.clientOf(request), idempotencyKey);
+        String requestHash = EventIdempotency.hash(objectMapper.writeValueAsBytes(eventDto));
+        try {
+            return eventIdempotency.execute(key, requestHash,
+                    () -> create(eventDto, errors, key, requestHash),
+                    eventId -> eventRepository.findUncachedById(eventId)
+                            .map(event -> created(event, LinkTemplates.current()))
+                            .orElseGet(() -> ResponseEntity.notFound().build()));
+        } catch (IdempotencyKeyException e) {
+            Errors rejected = new MapBindingResult(new HashMap<>(), "idempotencyKey");
+            rejected.reject(e.getReason().getCode(), e.getMessage());
+            if (e.getReason() == IdempotencyKeyException.Reason.KEY_REUSED) {
+                return ResponseEntity.unprocessableEntity().body(new ErrorsResource(rejected));
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").body(new ErrorsResource(rejected));
+        }
+    }
 
+    private ResponseEntity create(EventDto eventDto, Errors errors, String idempotencyKey, String requestHash) {
+        long t = System.nanoTime();
         eventValidator.validate(eventDto, errors);
+        t = stageMetrics.record(StageMetrics.VALIDATION, t);
         if (errors.hasErrors()) {
-            log.info("[Controller 거치는] ");
+            log.debug("[Controller 거치는] ");
             return badRequest(errors);
         }
 
-        Event event = modelMapper.map(eventDto, Event.class);
+        Event event = eventMapper.toEvent(eventDto);
         event.update();
-        Event newEvent = eventRepository.save(event);
-        event.setId(newEvent.getId());
-        WebMvcLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(newEvent.getId()); // 자신에 대한 link
-        URI createdUri = selfLinkBuilder.toUri(); // self 링크를 string으로
-
-        EventResource eventResource = new EventResource(event);
-        eventResource.add(linkTo(EventController.class).withRel("query-events")); // 이벤트 등록하기 링크
-        eventResource.add(selfLinkBuilder.withRel("update-events")); // 업데이트 링크
-        eventResource.add(Link.of("/docs/index.html#resource-events-create").withRel("profile")); // 프로필 링크
-        return ResponseEntity.created(createdUri).body(eventResource);
+        t = stageMetrics.record(StageMetrics.MAPPING, t);
+        Event newEvent = idempotencyKey == null
+                ? eventService.create(event)
+                : eventService.create(event, idempotencyKey, requestHash, eventIdempotency.getTtl());
+        t = stageMetrics.record(StageMetrics.REPOSITORY, t);
+        ResponseEntity response = created(newEvent, LinkTemplates.current());
+        stageMetrics.record(StageMetrics.ASSEMBLY, t);
+        return response;
+    }
+
+    private ResponseEntity created(Event event, LinkTemplates links) {
+        EventLinks eventLinks = EventLinks.of(links);
+        String selfHref = eventLinks.event(event.getId()); // 자신에 대한 link
+        URI createdUri = URI.create(selfHref);
+
+        EventResource eventResource = new EventResource(event, links);
+        eventResource.add(Link.of(eventLinks.events(), "query-events")); // 이벤트 등록하기 링크
+        eventResource.add(Link.of(selfHref, "update-events")); // 업데이트 링크
+        eventResource.add(CREATE_PROFILE); // 프로필 링크
+        return ResponseEntity.created(createdUri).eTag(forAccept(EventETags.of(event))).body(eventResource);
+    }
+
+    /**
+     * 여러 event 를 한 번에 생성한다. 하나라도 잘못되면 아무것도 저장하지 않고
+     * 잘못된 항목마다 ErrorsResource 를 돌려준다. (objectName 에 몇 번째 항목인지 담긴다)
+     * 잘못된 항목은 events.batch.max-failures 개까지만 돌려주고, 그 뒤에는 tooManyErrors 하나로 끝낸다.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity createEvents(@RequestBody List<EventDto> eventDtos) {
+        if (eventDtos.size() > batchMaxSize) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "eventDtos");
+            errors.reject("tooManyEvents", "A batch can contain at most " + batchMaxSize + " events");
+            return badRequest(errors);
+        }
+
+        long t = System.nanoTime();
+        LinkTemplates links = LinkTemplates.current();
+        SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(validator);
+        List<ErrorsResource> failures = new ArrayList<>();
+        for (int i = 0; i < eventDtos.size(); i++) {
+            // 잘못된 항목이 batchMaxFailures 개를 넘으면 어차피 전체가 거절되므로 나머지는 검사하지 않는다.
+            if (failures.size() == batchMaxFailures) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "eventDtos");
+                errors.reject("tooManyErrors", "Validation stopped after " + batchMaxFailures
+                        + " invalid events; events from index " + i + " were not validated");
+                failures.add(ErrorsResource.validationFailure(errors, links));
+                break;
+            }
+            EventDto eventDto = eventDtos.get(i);
+            Errors errors = new BeanPropertyBindingResult(eventDto, "eventDtos[" + i + "]");
+            beanValidator.validate(eventDto, errors);
+            if (!errors.hasErrors()) {
+                eventValidator.validate(eventDto, errors);
+            }
+            if (errors.hasErrors()) {
+                failures.add(ErrorsResource.validationFailure(errors, links));
+            }
+        }
+        t = stageMetrics.record(StageMetrics.VALIDATION, t);
+        if (!failures.isEmpty()) {
+            return ResponseEntity.badRequest().body(HalModelBuilder.halModel()
+                    .embed(failures, LinkRelation.of("errors"))
+                    .link(links.index())
+                    .build());
+        }
+
+        List<Event> events = eventBatchService.createAll(eventDtos);
+        t = stageMetrics.record(StageMetrics.REPOSITORY, t);
+        List<EventResource> resources = events.stream().map(e -> new EventResource(e, links)).collect(Collectors.toList());
+        var batchResources = CollectionModel.of(resources);
+        batchResources.add(Link.of(EventLinks.of(links).events(), "query-events"));
+        batchResources.add(BATCH_PROFILE);
+        stageMetrics.record(StageMetrics.ASSEMBLY, t);
+        return ResponseEntity.status(HttpStatus.CREATED).body(batchResources);
     }
 
     @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler) {
-        Page<Event> page = eventRepository.findAll(pageable);
-        var pageResources = assembler.toModel(page, e -> new EventResource(e));
-        pageResources.add(Link.of("/docs/index.html#resource-events-list").withRel("profile"));
-        return ResponseEntity.ok().body(pageResources);
+    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler,
+                                      EventSearchCondition condition, Errors errors,
+                                      @RequestParam(required = false) String after,
+                                      @RequestParam(required = false) String before,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (!errors.hasErrors()) {
+            eventValidator.validate(condition, errors);
+        }
+        if (errors.hasErrors()) {
+            return badRequest(errors);
+        }
+        if (after != null || before != null) {
+            return scrollEvents(pageable, condition, after, before, ifNoneMatch);
+        }
+
+        // 검색 조건이 없을 때만 페이지 캐시를 탄다.
+        long t = System.nanoTime();
+        Page<Event> page = condition.isEmpty()
+                ? eventRepository.findAll(pageable)
+                : eventRepository.findAll(condition.toSpecification(), pageable);
+        t = stageMetrics.record(StageMetrics.REPOSITORY, t);
+        String eTag = forAccept(EventETags.of(page, page.getNumber(), page.getSize(), page.getSort(), page.getTotalElements(), condition.toQueryString()));
+        if (EventETags.noneMatchFails(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+
+        LinkTemplates links = LinkTemplates.current();
+        var pageResources = assembler.toModel(page, e -> new EventResource(e, links));
+        pageResources.add(LIST_PROFILE);
+        stageMetrics.record(StageMetrics.ASSEMBLY, t);
+        return ResponseEntity.ok().eTag(eTag).body(pageResources);
+    }
+
+    /**
+     * keyset(seek) 방식의 목록 조회. after/before 커서가 있으면 OFFSET 과 count 쿼리 없이 다음/이전 페이지를 찾는다.
+     * 빈 after 값(?after=)은 첫 페이지를 의미한다.
+     */
+    private ResponseEntity scrollEvents(Pageable pageable, EventSearchCondition condition,
+                                        String after, String before, String ifNoneMatch) {
+        boolean backward = before != null;
+        String token = backward ? before : after;
+        EventCursor cursor;
+        try {
+            cursor = token.isEmpty() ? EventCursor.first(pageable.getSort()) : EventCursor.decode(token);
+        } catch (IllegalArgumentException e) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "eventCursor");
+            errors.reject("wrongCursor", e.getMessage());
+            return badRequest(errors);
+        }
+
+        int size = pageable.getPageSize();
+        long t = System.nanoTime();
+        List<Event> events = eventRepository.findSeek(cursor, condition.toSpecification(), backward, size + 1);
+        t = stageMetrics.record(StageMetrics.REPOSITORY, t);
+        boolean hasMore = events.size() > size;
+        if (hasMore) {
+            events = backward ? events.subList(1, events.size()) : events.subList(0, size);
+        }
+        String eTag = forAccept(EventETags.of(events, token, size, hasMore, condition.toQueryString()));
+        if (EventETags.noneMatchFails(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+
+        LinkTemplates links = LinkTemplates.current();
+        List<EventResource> resources = events.stream().map(e -> new EventResource(e, links)).collect(Collectors.toList());
+        var scrollResources = CollectionModel.of(resources);
+        scrollResources.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+
+        boolean hasNext = backward ? cursor.hasPosition() : hasMore;
+        boolean hasPrev = backward ? hasMore : cursor.hasPosition();
+        if (hasNext) {
+            EventCursor next = events.isEmpty() ? cursor : cursor.at(events.get(events.size() - 1));
+            scrollResources.add(scrollLink(links, condition, "after", next, size, IanaLinkRelations.NEXT));
+        }
+        if (hasPrev) {
+            EventCursor prev = events.isEmpty() ? cursor : cursor.at(events.get(0));
+            scrollResources.add(scrollLink(links, condition, "before", prev, size, IanaLinkRelations.PREV));
+        }
+        scrollResources.add(LIST_PROFILE);
+        stageMetrics.record(StageMetrics.ASSEMBLY, t);
+        return ResponseEntity.ok().eTag(eTag).body(scrollResources);
+    }
+
+    private Link scrollLink(LinkTemplates links, EventSearchCondition condition,
+                            String param, EventCursor cursor, int size, LinkRelation rel) {
+        // 정렬 조건은 커서에 들어있으므로 size, 검색 조건, 커서만 넘긴다. 커서는 URL-safe Base64 라 인코딩이 필요 없다.
+        return Link.of(EventLinks.of(links).events() + "?" + param + "=" + cursor.encode() + "&size=" + size + condition.toQueryString(), rel);
+    }
+
+    /**
+     * name, location, description 전문 검색. 결과는 관련도 순이며 page, size 로 페이징한다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity searchEvents(@RequestParam(required = false) String q, Pageable pageable,
+                                       PagedResourcesAssembler<Event> assembler) {
+        if (!StringUtils.hasText(q)) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "eventSearch");
+            errors.reject("emptyQuery", "검색어가 비어있습니다.");
+            return badRequest(errors);
+        }
+
+        long t = System.nanoTime();
+        Page<Event> page = eventSearchService.search(q, pageable);
+        t = stageMetrics.record(StageMetrics.REPOSITORY, t);
+        LinkTemplates links = LinkTemplates.current();
+        var pageResources = assembler.toModel(page, e -> new EventResource(e, links));
+        pageResources.add(SEARCH_PROFILE);
+        stageMetrics.record(StageMetrics.ASSEMBLY, t);
+        return ResponseEntity.ok(pageResources);
+    }
+
+    /**
+     * 전체 event 를 스트리밍으로 내려준다. Accept 가 application/x-ndjson 이면 한 줄에 event 하나씩,
+     * 아니면 queryEvents 와 같은 HAL 문서를 chunked 로 내려준다.
+     */
+    @GetMapping(value = "/export", produces = {MediaTypes.HAL_JSON_VALUE, NDJSON_VALUE})
+    public void exportEvents(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                             HttpServletResponse response) throws IOException {
+        if (accept != null && accept.contains(NDJSON_VALUE)) {
+            response.setContentType(NDJSON_VALUE);
+            eventExportService.exportNdjson(response.getOutputStream());
+        } else {
+            response.setContentType(MediaTypes.HAL_JSON_VALUE);
+            eventExportService.exportHal(response.getOutputStream(), LinkTemplates.current());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Integer id) {
+    public ResponseEntity getEvent(@PathVariable Integer id,
+                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long t = System.nanoTime();
         Optional<Event> optionalEvent = eventRepository.findById(id);
+        t = stageMetrics.record(StageMetrics.REPOSITORY, t);
         if (optionalEvent.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
+        // 캐시된 event 의 version 만으로 비교하므로 304 는 DB 조회도, 직렬화도 하지 않는다.
         Event event = optionalEvent.get();
+        String eTag = forAccept(EventETags.of(event));
+        if (EventETags.noneMatchFails(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+
         EventResource resource = new EventResource(event);
-        resource.add(Link.of("/docs/index.html#resource-events-get").withRel("profile"));
-        return ResponseEntity.ok(resource);
+        resource.add(Link.of(EnrollmentLinks.current().enrollments(event.getId()), "enrollments"));
+        resource.add(GET_PROFILE);
+        stageMetrics.record(StageMetrics.ASSEMBLY, t);
+        return ResponseEntity.ok().eTag(eTag).body(resource);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity updateEvent(@PathVariable Integer id,
                                       @Validated @RequestBody EventDto eventDto,
-                                      Errors errors) {
-        Optional<Event> optionalEvent = eventRepository.findById(id);
+                                      Errors errors,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        long t = System.nanoTime();
+        Optional<Event> optionalEvent = eventRepository.findUncachedById(id);
+        t = stageMetrics.record(StageMetrics.REPOSITORY, t);
         if (optionalEvent.isEmpty()) {
-            log.info("event가 비버있는 경우");
+            log.debug("event가 비버있는 경우");
             return ResponseEntity.notFound().build();
         }
 
+        String currentETag = EventETags.of(optionalEvent.get());
+        if (EventETags.matchFails(ifMatch, currentETag)) {
+            log.debug("클라이언트가 가진 event 가 최신이 아닌 경우");
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(forAccept(currentETag)).build();
+        }
+
         if (errors.hasErrors()) {
-            log.info("eventDto가 바인딩이 잘못 된 경우");
+            log.debug("eventDto가 바인딩이 잘못 된 경우");
             return badRequest(errors);
         }
 
         eventValidator.validate(eventDto, errors);
+        t = stageMetrics.record(StageMetrics.VALIDATION, t);
         if (errors.hasErrors()) {
-            log.info("event의 로직이 잘못된 경우");
+            log.debug("event의 로직이 잘못된 경우");
             return badRequest(errors); // 로직에 문제있는 경우
         }
         Event originEvent = optionalEvent.get();
-        modelMapper.map(eventDto, originEvent);
-        Event updatedEvent = eventRepository.save(originEvent);
+        eventMapper.update(eventDto, originEvent);
+        t = stageMetrics.record(StageMetrics.MAPPING, t);
+        Event updatedEvent;
+        try {
+            updatedEvent = eventService.update(originEvent);
+            t = stageMetrics.record(StageMetrics.REPOSITORY, t);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("읽은 뒤에 다른 요청이 먼저 수정한 경우");
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
 
         EventResource eventResource = new EventResource(updatedEvent);
-        eventResource.add(Link.of("/docs/index.html#resource-events-update").withRel("profile"));
-        return ResponseEntity.ok().body(eventResource);
+        eventResource.add(UPDATE_PROFILE);
+        stageMetrics.record(StageMetrics.ASSEMBLY, t);
+        return ResponseEntity.ok().eTag(forAccept(EventETags.of(updatedEvent))).body(eventResource);
+    }
+
+
+    /**
+     * JSON Merge Patch(RFC 7396). patch 에 있는 필드만 바꾸고, 바꾼 필드만 검사한다.
+     * 날짜와 가격의 관계(EventValidator)는 해당 필드를 건드렸을 때만 검사하고, free/offline 은 가격이나 장소가 바뀌었을 때만 다시 계산한다.
+     * 값이 그대로면 저장하지 않는다. (version 도 그대로) Event 는 @DynamicUpdate 라서 UPDATE 에는 바뀐 컬럼만 들어간다.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity patchEvent(@PathVariable Integer id,
+                                     @RequestBody JsonNode patch,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (!patch.isObject()) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+            errors.reject("wrongPatch", "A merge patch must be a JSON object");
+            return badRequest(errors);
+        }
+
+        long t = System.nanoTime();
+        Optional<Event> optionalEvent = eventRepository.findUncachedById(id);
+        t = stageMetrics.record(StageMetrics.REPOSITORY, t);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Event originEvent = optionalEvent.get();
+        String currentETag = EventETags.of(originEvent);
+        if (EventETags.matchFails(ifMatch, currentETag)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(forAccept(currentETag)).build();
+        }
+
+        EventDto eventDto = eventMapper.toDto(originEvent);
+        JsonNode before = objectMapper.valueToTree(eventDto);
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        try {
+            objectMapper.readerForUpdating(eventDto).readValue(patch);
+        } catch (IOException | IllegalArgumentException e) {
+            errors.reject("wrongPatch", "The patch does not match an event: " + e.getMessage());
+            return badRequest(errors);
+        }
+        JsonNode after = objectMapper.valueToTree(eventDto);
+        Set<String> changed = new HashSet<>();
+        patch.fieldNames().forEachRemaining(field -> {
+            if (!Objects.equals(before.get(field), after.get(field))) {
+                changed.add(field);
+            }
+        });
+
+        for (String field : changed) {
+            for (ConstraintViolation<EventDto> violation : validator.validateProperty(eventDto, field)) {
+                String code = violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName();
+                errors.rejectValue(field, code, violation.getMessage());
+            }
+        }
+        if (!errors.hasErrors() && !Collections.disjoint(changed, PRICE_FIELDS)) {
+            eventValidator.validatePrices(eventDto, errors);
+        }
+        if (!errors.hasErrors() && !Collections.disjoint(changed, DATE_FIELDS)) {
+            eventValidator.validateDates(eventDto, errors);
+        }
+        t = stageMetrics.record(StageMetrics.VALIDATION, t);
+        if (errors.hasErrors()) {
+            return badRequest(errors);
+        }
+
+        Event patchedEvent = originEvent;
+        if (!changed.isEmpty()) {
+            eventMapper.update(eventDto, originEvent);
+            if (changed.contains("location") || !Collections.disjoint(changed, PRICE_FIELDS)) {
+                originEvent.update();
+            }
+            t = stageMetrics.record(StageMetrics.MAPPING, t);
+            try {
+                patchedEvent = eventService.update(originEvent);
+                t = stageMetrics.record(StageMetrics.REPOSITORY, t);
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("읽은 뒤에 다른 요청이 먼저 수정한 경우");
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+        }
+
+        EventResource eventResource = new EventResource(patchedEvent);
+        eventResource.add(PATCH_PROFILE);
+        stageMetrics.record(StageMetrics.ASSEMBLY, t);
+        return ResponseEntity.ok().eTag(forAccept(EventETags.of(patchedEvent))).body(eventResource);
     }
 
+    /**
+     * 요청한 표현(Accept)의 ETag. 같은 event 라도 JSON, Smile, CBOR 는 바이트가 다르므로 ETag 도 다르다.
+     */
+    private static String forAccept(String eTag) {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        return EventETags.withFormat(eTag, EventETags.format(request.getHeader(HttpHeaders.ACCEPT)));
+    }
+
+    private ResponseEntity notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
 
     private ResponseEntity<ErrorsResource> badRequest(Errors errors) {
-        return ResponseEntity.badRequest().body(new ErrorsResource(errors));
+        return ResponseEntity.badRequest().body(ErrorsResource.validationFailure(errors));
     }
 }
@@ -0,0 +1,139 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * keyset(seek) 페이징에 사용하는 커서.
+ * 정렬 기준 프로퍼티와 방향, 마지막으로 읽은 row 의 정렬 값과 id 를 불투명한 토큰으로 인코딩한다.
+ * 정렬 값이 null 이면 값 자리를 비우지 않고 빼서(property|direction|id) 빈 문자열과 구분한다.
+ */
+public class EventCursor {
+
+    private static final String SEPARATOR = "|";
+
+    enum Key {
+        ID("id", false, Event::getId, Integer::valueOf),
+        NAME("name", true, Event::getName, value -> value),
+        BEGIN_ENROLLMENT_DATE_TIME("beginEnrollmentDateTime", true, Event::getBeginEnrollmentDateTime, LocalDateTime::parse),
+        CLOSE_ENROLLMENT_DATE_TIME("closeEnrollmentDateTime", true, Event::getCloseEnrollmentDateTime, LocalDateTime::parse),
+        BEGIN_EVENT_DATE_TIME("beginEventDateTime", true, Event::getBeginEventDateTime, LocalDateTime::parse),
+        END_EVENT_DATE_TIME("endEventDateTime", true, Event::getEndEventDateTime, LocalDateTime::parse),
+        BASE_PRICE("basePrice", false, Event::getBasePrice, Integer::valueOf),
+        MAX_PRICE("maxPrice", false, Event::getMaxPrice, Integer::valueOf),
+        LIMIT_OF_ENROLLMENT("limitOfEnrollment", false, Event::getLimitOfEnrollment, Integer::valueOf);
+
+        private final String property;
+        private final boolean nullable;
+        private final Function<Event, Comparable<?>> extractor;
+        private final Function<String, Comparable<?>> parser;
+
+        Key(String property, boolean nullable, Function<Event, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+            this.property = property;
+            this.nullable = nullable;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        static Key of(String property) {
+            for (Key key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort property for cursor: " + property);
+        }
+    }
+
+    private final Key key;
+    private final Sort.Direction direction;
+    private final Integer id; // null 이면 첫 페이지
+    private final Comparable<?> value;
+
+    private EventCursor(Key key, Sort.Direction direction, Integer id, Comparable<?> value) {
+        this.key = key;
+        this.direction = direction;
+        this.id = id;
+        this.value = value;
+    }
+
+    /**
+     * 첫 페이지용 커서. 정렬 조건이 없으면 id 오름차순을 사용한다.
+     * 커서는 정렬 기준 하나와 id 만 담으므로 정렬 조건이 둘 이상이면 받지 않는다.
+     */
+    public static EventCursor first(Sort sort) {
+        if (sort.stream().count() > 1) {
+            throw new IllegalArgumentException("Cursor supports a single sort property: " + sort);
+        }
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(Key.ID.property));
+        return new EventCursor(Key.of(order.getProperty()), order.getDirection(), null, null);
+    }
+
+    public static EventCursor decode(String token) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+
+        String[] parts = decoded.split("\\" + SEPARATOR, 4);
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            Key key = Key.of(parts[0]);
+            if (parts.length == 3 && !key.nullable) {
+                throw new IllegalArgumentException(key.property + " cannot be null");
+            }
+            Comparable<?> value = parts.length == 3 ? null : key.parser.apply(parts[3]);
+            return new EventCursor(key, Sort.Direction.fromString(parts[1]), Integer.valueOf(parts[2]), value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    /**
+     * 같은 정렬 조건으로 주어진 event 위치를 가리키는 커서.
+     */
+    public EventCursor at(Event event) {
+        return new EventCursor(key, direction, event.getId(), key.extractor.apply(event));
+    }
+
+    public String encode() {
+        String raw = key.property + SEPARATOR + direction.name() + SEPARATOR + id
+                + (value == null ? "" : SEPARATOR + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean hasPosition() {
+        return id != null;
+    }
+
+    public String getProperty() {
+        return key.property;
+    }
+
+    /**
+     * 정렬 값이 null 일 수 있는 프로퍼티. null 은 오름차순에서 맨 뒤, 내림차순에서 맨 앞에 둔다.
+     */
+    public boolean isNullable() {
+        return key.nullable;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Comparable<?> getValue() {
+        return value;
+    }
+}
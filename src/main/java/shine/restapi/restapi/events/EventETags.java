@@ -0,0 +1,153 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import shine.restapi.restapi.common.BinaryFormatConfig;
+
+import java.util.List;
+
+/**
+ * Event 의 @Version 으로 strong ETag 를 만든다.
+ * 목록은 페이지에 담긴 (id, version) 과 페이지 정보로 해시를 만든 weak ETag 다.
+ * 목록은 gzip 으로 압축되어 바이트가 달라지고 If-Match 에 쓰이지 않으므로 weak 로 두고,
+ * Tomcat 은 기본값대로 strong ETag 가 붙은 응답(event 단건)을 압축하지 않는다.
+ * 페이지 정보는 문자열로 바꿔서 해시하므로 재시작하거나 인스턴스가 달라도 같은 페이지는 같은 ETag 를 갖는다.
+ * Smile, CBOR 표현은 JSON 과 바이트가 다르므로 ETag 끝에 형식을 붙여서("3-smile") 구분한다.
+ */
+final class EventETags {
+
+    static final String JSON = "";
+    static final String SMILE = "-smile";
+    static final String CBOR = "-cbor";
+
+    private static final MediaType SMILE_TYPE = MediaType.parseMediaType(BinaryFormatConfig.SMILE_VALUE);
+    private static final MediaType CBOR_TYPE = MediaType.parseMediaType(BinaryFormatConfig.CBOR_VALUE);
+
+    private EventETags() {
+    }
+
+    static String of(Event event) {
+        return "\"" + event.getVersion() + "\"";
+    }
+
+    static String of(Iterable<Event> events, Object... pageInfo) {
+        long hash = 1125899906842597L;
+        for (Event event : events) {
+            hash = 31 * hash + event.getId();
+            hash = 31 * hash + (event.getVersion() == null ? 0 : event.getVersion());
+        }
+        for (Object info : pageInfo) {
+            hash = 31 * hash + canonical(info).hashCode();
+        }
+        return "W/\"p" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Sort.Order 의 hashCode 는 enum 의 identity hash 를 섞으므로 JVM 마다 달라진다. 정렬은 속성과 방향을 글자로 적는다.
+     */
+    private static String canonical(Object info) {
+        if (info == null) {
+            return "";
+        }
+        if (info instanceof Sort) {
+            StringBuilder builder = new StringBuilder();
+            for (Sort.Order order : (Sort) info) {
+                builder.append(order.getProperty()).append(':')
+                        .append(order.getDirection().name()).append(':')
+                        .append(order.isIgnoreCase()).append(':')
+                        .append(order.getNullHandling().name()).append(',');
+            }
+            return builder.toString();
+        }
+        return String.valueOf(info);
+    }
+
+    /**
+     * Accept 로 고를 표현의 ETag 접미사. 선호도가 높은 것부터 보고, JSON(HAL) 이나 와일드카드가 먼저 나오면 JSON 이다.
+     */
+    static String format(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return JSON;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.equalsTypeAndSubtype(SMILE_TYPE)) {
+                return SMILE;
+            }
+            if (mediaType.equalsTypeAndSubtype(CBOR_TYPE)) {
+                return CBOR;
+            }
+            if (mediaType.isCompatibleWith(MediaTypes.HAL_JSON) || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return JSON;
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * JSON 표현의 ETag 에 format 접미사를 붙인다.
+     */
+    static String withFormat(String eTag, String format) {
+        return format.isEmpty() ? eTag : eTag.substring(0, eTag.length() - 1) + format + "\"";
+    }
+
+    /**
+     * If-None-Match 비교. weak 비교를 사용한다. (RFC 7232 3.2)
+     */
+    static boolean noneMatchFails(String ifNoneMatch, String eTag) {
+        return matches(ifNoneMatch, eTag, true);
+    }
+
+    /**
+     * If-Match 비교. 헤더가 없으면 통과, 있으면 strong 비교를 사용한다. (RFC 7232 3.1)
+     * 수정은 형식과 상관없이 event 의 지금 version 을 확인하는 것이므로, 어느 형식으로 받은 ETag 든 맞으면 통과한다.
+     *
+     * @param eTag JSON 표현의 ETag
+     */
+    static boolean matchFails(String ifMatch, String eTag) {
+        return StringUtils.hasText(ifMatch)
+                && !matches(ifMatch, eTag, false)
+                && !matches(ifMatch, withFormat(eTag, SMILE), false)
+                && !matches(ifMatch, withFormat(eTag, CBOR), false);
+    }
+
+    private static boolean matches(String header, String eTag, boolean weak) {
+        if (!StringUtils.hasText(header)) {
+            return false;
+        }
+        if (eTag.startsWith("W/")) {
+            if (!weak) {
+                return false;
+            }
+            eTag = eTag.substring(2);
+        }
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(header)) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                value = value.substring(2);
+            }
+            if (value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
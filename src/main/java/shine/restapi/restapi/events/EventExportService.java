@@ -0,0 +1,97 @@
+package shine.restapi.restapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import shine.restapi.restapi.common.LinkTemplates;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 전체 event 를 DB 커서에서 바로 응답으로 흘려보낸다.
+ * 한 row 씩 쓰고 영속성 컨텍스트에서 떼어내므로 테이블 크기와 상관없이 힙 사용량이 일정하다.
+ * 쓰기는 소켓에 블록되므로 클라이언트가 읽는 속도만큼만 커서가 진행된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventExportService {
+
+    private static final int FLUSH_INTERVAL = 100;
+
+    private final EventRepository eventRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Event> events = eventRepository.streamAll()) {
+            generator.setRootValueSeparator(null);
+            SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+            JsonSerializer<Object> serializer = provider.findValueSerializer(Event.class);
+
+            int count = 0;
+            for (Iterator<Event> it = events.iterator(); it.hasNext(); ) {
+                Event event = it.next();
+                serializer.serialize(event, generator, provider);
+                generator.writeRaw('\n');
+                entityManager.detach(event);
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * queryEvents 와 같은 모양의 HAL 문서를 한 번에 만들지 않고 row 단위로 써 내려간다.
+     */
+    @Transactional(readOnly = true)
+    public void exportHal(OutputStream out, LinkTemplates links) throws IOException {
+        EventLinks eventLinks = EventLinks.of(links);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Event> events = eventRepository.streamAll()) {
+            SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+            // EntityModel 의 @JsonUnwrapped 와 같은 방식으로 event 필드를 펼쳐서 쓴다.
+            JsonSerializer<Object> serializer = provider.findValueSerializer(Event.class)
+                    .unwrappingSerializer(NameTransformer.NOP);
+
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("_embedded");
+            generator.writeArrayFieldStart("eventList");
+            int count = 0;
+            for (Iterator<Event> it = events.iterator(); it.hasNext(); ) {
+                Event event = it.next();
+                generator.writeStartObject();
+                serializer.serialize(event, generator, provider);
+                writeHref(generator, "self", eventLinks.event(event.getId()));
+                generator.writeEndObject();
+                entityManager.detach(event);
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            writeHref(generator, "self", eventLinks.events() + "/export");
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeHref(JsonGenerator generator, String rel, String href) throws IOException {
+        generator.writeObjectFieldStart("_links");
+        generator.writeObjectFieldStart(rel);
+        generator.writeStringField("href", href);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+}
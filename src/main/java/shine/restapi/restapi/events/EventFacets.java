@@ -0,0 +1,23 @@
+package shine.restapi.restapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * EventStatistics 가 세는 event 의 값들. 바뀌기 전과 후를 비교해서 통계에 반영한다.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class EventFacets {
+
+    private final EventStatus eventStatus;
+    private final boolean free;
+    private final boolean offline;
+    private final int basePrice;
+
+    public static EventFacets of(Event event) {
+        return new EventFacets(event.getEventStatus(), event.isFree(), event.isOffline(), event.getBasePrice());
+    }
+}
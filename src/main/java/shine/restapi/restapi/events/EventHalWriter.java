@@ -0,0 +1,262 @@
+package shine.restapi.restapi.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.PagedModel;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * EventResource 와 event 목록(CollectionModel, PagedModel)의 HAL JSON 을 JsonGenerator 에 바로 쓴다.
+ * <p>
+ * 필드 이름은 미리 인코딩한 SerializedString 을 쓰고, 날짜는 문서마다 하나씩 있는 char 버퍼에 직접 찍는다.
+ * 출력은 Jackson + Jackson2HalModule 이 만드는 것과 바이트 단위로 같아야 한다. (EventHalWriterTest)
+ * Event 에 필드를 추가하면 여기에도 같은 순서로 추가한다.
+ * <p>
+ * 링크에 href 말고 다른 속성이 있거나 같은 rel 이 두 번 나오는 것처럼 여기서 다루지 않는 모양이면
+ * false 를 돌려주고, 호출한 쪽이 원래 serializer 로 쓴다.
+ */
+final class EventHalWriter {
+
+    static final String EVENT_LIST = "eventList";
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString BEGIN_ENROLLMENT_DATE_TIME = new SerializedString("beginEnrollmentDateTime");
+    private static final SerializedString CLOSE_ENROLLMENT_DATE_TIME = new SerializedString("closeEnrollmentDateTime");
+    private static final SerializedString BEGIN_EVENT_DATE_TIME = new SerializedString("beginEventDateTime");
+    private static final SerializedString END_EVENT_DATE_TIME = new SerializedString("endEventDateTime");
+    private static final SerializedString LOCATION = new SerializedString("location");
+    private static final SerializedString BASE_PRICE = new SerializedString("basePrice");
+    private static final SerializedString MAX_PRICE = new SerializedString("maxPrice");
+    private static final SerializedString LIMIT_OF_ENROLLMENT = new SerializedString("limitOfEnrollment");
+    private static final SerializedString OFFLINE = new SerializedString("offline");
+    private static final SerializedString FREE = new SerializedString("free");
+    private static final SerializedString EVENT_STATUS = new SerializedString("eventStatus");
+
+    private static final SerializedString EMBEDDED = new SerializedString("_embedded");
+    private static final SerializedString EVENT_LIST_NAME = new SerializedString(EVENT_LIST);
+    private static final SerializedString LINKS = new SerializedString("_links");
+    private static final SerializedString HREF = new SerializedString("href");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString NUMBER = new SerializedString("number");
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final int DATE_TIME_LENGTH = 29;
+
+    private final JsonGenerator generator;
+    private final char[] dateTime = new char[DATE_TIME_LENGTH];
+
+    private EventHalWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    static boolean writeResource(EventResource resource, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (!supports(provider) || resource.getContent() == null || !isSimple(resource.getLinks())) {
+            return false;
+        }
+        new EventHalWriter(generator).resource(resource);
+        return true;
+    }
+
+    /**
+     * content 가 모두 EventResource 인 CollectionModel, PagedModel 만 쓴다. 빈 목록은 원래 serializer 에 맡긴다.
+     */
+    static boolean writeCollection(CollectionModel<?> model, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (!supports(provider) || model.getContent().isEmpty() || !isSimple(model.getLinks())) {
+            return false;
+        }
+        for (Object content : model.getContent()) {
+            if (!(content instanceof EventResource)
+                    || ((EventResource) content).getContent() == null
+                    || !isSimple(((EventResource) content).getLinks())) {
+                return false;
+            }
+        }
+
+        EventHalWriter writer = new EventHalWriter(generator);
+        generator.writeStartObject(model);
+        generator.writeFieldName(EMBEDDED);
+        generator.writeStartObject();
+        generator.writeFieldName(EVENT_LIST_NAME);
+        generator.writeStartArray();
+        for (Object content : model.getContent()) {
+            writer.resource((EventResource) content);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        writer.links(model.getLinks());
+        if (model instanceof PagedModel && ((PagedModel<?>) model).getMetadata() != null) {
+            writer.page(((PagedModel<?>) model).getMetadata());
+        }
+        generator.writeEndObject();
+        return true;
+    }
+
+    /**
+     * 기본 설정과 다르게 날짜, enum, null 필드를 쓰도록 바뀌었으면 원래 serializer 를 쓴다.
+     */
+    private static boolean supports(SerializerProvider provider) {
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                || provider.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+                || provider.isEnabled(SerializationFeature.WRITE_ENUMS_USING_INDEX)) {
+            return false;
+        }
+        JsonInclude.Include inclusion = provider.getConfig().getDefaultPropertyInclusion(Event.class).getValueInclusion();
+        return inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    /**
+     * rel 마다 href 하나만 있는 링크. HAL 에서 {"rel":{"href":"..."}} 로만 나오는 경우다.
+     */
+    private static boolean isSimple(Links links) {
+        int index = 0;
+        for (Link link : links) {
+            if (link.getTitle() != null || link.getType() != null || link.getHreflang() != null
+                    || link.getDeprecation() != null || link.getProfile() != null || link.getName() != null
+                    || link.isTemplated()) {
+                return false;
+            }
+            int other = 0;
+            for (Link previous : links) {
+                if (other++ == index) {
+                    break;
+                }
+                if (previous.hasRel(link.getRel())) {
+                    return false;
+                }
+            }
+            index++;
+        }
+        return true;
+    }
+
+    private void resource(EventResource resource) throws IOException {
+        Event event = resource.getContent();
+        generator.writeStartObject(resource);
+        generator.writeFieldName(ID);
+        if (event.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(event.getId());
+        }
+        string(NAME, event.getName());
+        string(DESCRIPTION, event.getDescription());
+        dateTime(BEGIN_ENROLLMENT_DATE_TIME, event.getBeginEnrollmentDateTime());
+        dateTime(CLOSE_ENROLLMENT_DATE_TIME, event.getCloseEnrollmentDateTime());
+        dateTime(BEGIN_EVENT_DATE_TIME, event.getBeginEventDateTime());
+        dateTime(END_EVENT_DATE_TIME, event.getEndEventDateTime());
+        string(LOCATION, event.getLocation());
+        generator.writeFieldName(BASE_PRICE);
+        generator.writeNumber(event.getBasePrice());
+        generator.writeFieldName(MAX_PRICE);
+        generator.writeNumber(event.getMaxPrice());
+        generator.writeFieldName(LIMIT_OF_ENROLLMENT);
+        generator.writeNumber(event.getLimitOfEnrollment());
+        generator.writeFieldName(OFFLINE);
+        generator.writeBoolean(event.isOffline());
+        generator.writeFieldName(FREE);
+        generator.writeBoolean(event.isFree());
+        string(EVENT_STATUS, event.getEventStatus() == null ? null : event.getEventStatus().name());
+        links(resource.getLinks());
+        generator.writeEndObject();
+    }
+
+    private void links(Links links) throws IOException {
+        if (links.isEmpty()) {
+            return;
+        }
+        generator.writeFieldName(LINKS);
+        generator.writeStartObject();
+        for (Link link : links) {
+            generator.writeObjectFieldStart(link.getRel().value());
+            generator.writeFieldName(HREF);
+            generator.writeString(link.getHref());
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private void page(PagedModel.PageMetadata metadata) throws IOException {
+        generator.writeFieldName(PAGE);
+        generator.writeStartObject();
+        generator.writeFieldName(SIZE);
+        generator.writeNumber(metadata.getSize());
+        generator.writeFieldName(TOTAL_ELEMENTS);
+        generator.writeNumber(metadata.getTotalElements());
+        generator.writeFieldName(TOTAL_PAGES);
+        generator.writeNumber(metadata.getTotalPages());
+        generator.writeFieldName(NUMBER);
+        generator.writeNumber(metadata.getNumber());
+        generator.writeEndObject();
+    }
+
+    private void string(SerializedString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    /**
+     * DateTimeFormatter.ISO_LOCAL_DATE_TIME 과 같은 모양. 초는 항상 쓰고, 나노초는 0 이 아니면 끝의 0 을 뗀다.
+     */
+    private void dateTime(SerializedString name, LocalDateTime value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // 부호가 붙는 연도는 드무니 formatter 에 맡긴다.
+            generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+
+        char[] buffer = dateTime;
+        digits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        digits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        digits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        digits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        digits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        digits(buffer, 17, value.getSecond(), 2);
+        int length = 19;
+        int nano = value.getNano();
+        if (nano != 0) {
+            buffer[19] = '.';
+            digits(buffer, 20, nano, 9);
+            length = DATE_TIME_LENGTH;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    private static void digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
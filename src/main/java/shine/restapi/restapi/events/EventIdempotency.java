@@ -0,0 +1,213 @@
+package shine.restapi.restapi.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 가 붙은 event 생성을 한 번만 실행하고, 재시도에는 처음 응답(상태, 헤더, 본문)을 그대로 돌려준다.
+ * <p>
+ * 확인은 메모리에서만 한다. 끝난 요청은 maxKeys 개까지 ttl 동안 Caffeine 에 두고, 처리 중인 요청은 future 로 두어서
+ * 같은 키로 동시에 들어온 요청은 처음 요청의 결과를 waitTimeout 까지 기다린다.
+ * 메모리에서 밀려났거나 다른 인스턴스가 처리한 키는 event 를 만드는 트랜잭션의 idempotency_key INSERT 가 기본 키 위반으로 실패하므로,
+ * 그때 저장된 event 로 처음 응답을 다시 만든다. 만료된 행은 sweepInterval 마다 지운다.
+ */
+@Slf4j
+@Component
+public class EventIdempotency implements SmartLifecycle {
+
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration sweepInterval;
+    private final Cache<String, Completed> completed;
+    private final ConcurrentMap<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService sweeper;
+
+    public EventIdempotency(IdempotencyKeyRepository idempotencyKeyRepository,
+                            @Value("${events.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${events.idempotency.max-keys:10000}") int maxKeys,
+                            @Value("${events.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                            @Value("${events.idempotency.sweep-interval:1m}") Duration sweepInterval) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.sweepInterval = sweepInterval;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * key 로 처음 들어온 요청이면 create 를 실행한다. create 는 event 와 같은 트랜잭션에 키를 남겨야 한다. (EventService.create)
+     * 2xx 응답만 기억하고, 실패한 요청의 재시도는 다시 실행한다. 저장된 키로 다시 만든 응답도 2xx 일 때만 기억한다. 같은 키로 다른 내용을 보내면 KEY_REUSED,
+     * 처음 요청이 waitTimeout 안에 끝나지 않으면 IN_PROGRESS 로 IdempotencyKeyException 을 던진다.
+     *
+     * @param replay 다른 인스턴스나 이전 실행이 키와 함께 만든 event 로 응답을 만든다.
+     */
+    public ResponseEntity<?> execute(String key, String requestHash,
+                                     Supplier<ResponseEntity<?>> create, IntFunction<ResponseEntity<?>> replay) {
+        Completed done = completed.getIfPresent(key);
+        if (done != null) {
+            return done.replay(requestHash);
+        }
+
+        CompletableFuture<Completed> mine = new CompletableFuture<>();
+        CompletableFuture<Completed> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running, key, requestHash, create, replay);
+        }
+        try {
+            // 앞선 요청이 inFlight 에서 빠지기 직전에 끝났을 수 있다.
+            done = completed.getIfPresent(key);
+            if (done != null) {
+                mine.complete(done);
+                return done.replay(requestHash);
+            }
+
+            ResponseEntity<?> response;
+            try {
+                response = create.get();
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyKey stored = idempotencyKeyRepository.findById(key).orElseThrow(() -> e);
+                ResponseEntity<?> replayed = replay.apply(stored.getEventId());
+                done = new Completed(stored.getRequestHash(), replayed);
+                // 키와 함께 만든 event 가 그사이 지워졌으면(404) 기억하지 않고, 다음 재시도에서 다시 확인한다.
+                if (replayed.getStatusCode().is2xxSuccessful()) {
+                    completed.put(key, done);
+                    mine.complete(done);
+                }
+                return done.replay(requestHash);
+            }
+            if (response.getStatusCode().is2xxSuccessful()) {
+                mine.complete(remember(key, requestHash, response));
+            }
+            return response;
+        } finally {
+            inFlight.remove(key, mine);
+            // 실패했으면 기다리던 요청이 직접 실행한다.
+            mine.complete(null);
+        }
+    }
+
+    private Completed remember(String key, String requestHash, ResponseEntity<?> response) {
+        Completed done = new Completed(requestHash, response);
+        completed.put(key, done);
+        return done;
+    }
+
+    private ResponseEntity<?> await(CompletableFuture<Completed> running, String key, String requestHash,
+                                    Supplier<ResponseEntity<?>> create, IntFunction<ResponseEntity<?>> replay) {
+        Completed done;
+        try {
+            done = running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+        return done == null ? execute(key, requestHash, create, replay) : done.replay(requestHash);
+    }
+
+    private static IdempotencyKeyException inProgress() {
+        return new IdempotencyKeyException(IdempotencyKeyException.Reason.IN_PROGRESS,
+                "같은 Idempotency-Key 의 요청을 아직 처리하고 있습니다. 잠시 뒤에 다시 보내주세요.");
+    }
+
+    /**
+     * 클라이언트마다 따로 두는 키. 클라이언트 구분(ApiClients)에는 API 키가 그대로 들어 있으므로 해시로 바꿔서
+     * DB 와 메모리에 평문으로 남지 않게 하고, 길이도 idempotency_key 컬럼에 맞게 고정한다. (43자 + ":" + Idempotency-Key)
+     */
+    public static String key(String clientId, String idempotencyKey) {
+        return hash(clientId.getBytes(StandardCharsets.UTF_8)) + ":" + idempotencyKey;
+    }
+
+    /**
+     * 요청 본문의 SHA-256 (URL-safe Base64). 같은 키로 다른 내용을 보냈는지 확인하는 데 쓴다.
+     */
+    public static String hash(byte[] body) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void sweep() {
+        try {
+            int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                log.debug("만료된 Idempotency-Key {}개를 지웠습니다.", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("만료된 Idempotency-Key 를 지우지 못했습니다.", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepInterval.toMillis(), sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        sweeper.shutdownNow();
+        sweeper = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sweeper != null;
+    }
+
+    private static class Completed {
+        private final String requestHash;
+        private final ResponseEntity<?> response;
+
+        private Completed(String requestHash, ResponseEntity<?> response) {
+            this.requestHash = requestHash;
+            this.response = response;
+        }
+
+        private ResponseEntity<?> replay(String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IdempotencyKeyException(IdempotencyKeyException.Reason.KEY_REUSED,
+                        "같은 Idempotency-Key 로 다른 내용의 요청을 보냈습니다.");
+            }
+            HttpHeaders headers = new HttpHeaders();
+            headers.addAll(response.getHeaders());
+            headers.set(REPLAYED, "true");
+            return ResponseEntity.status(response.getStatusCode()).headers(headers).body(response.getBody());
+        }
+    }
+}
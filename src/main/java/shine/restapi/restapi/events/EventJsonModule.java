@@ -0,0 +1,143 @@
+package shine.restapi.restapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.hal.RepresentationModelMixin;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * EventResource 와 event 목록을 EventHalWriter 로 쓰게 하는 Jackson 모듈.
+ * <p>
+ * Jackson 이 만든 원래 serializer(HAL mixin 이 적용된 bean serializer)를 감싸고,
+ * EventHalWriter 가 다루지 못하는 값이면 그대로 원래 serializer 에 넘긴다.
+ * Spring Boot 가 Module 빈을 ObjectMapper 에 등록하고, HAL 용 ObjectMapper 는 그 복사본에 HAL 모듈을 더한 것이라
+ * HAL 응답에만 적용된다.
+ */
+@Component
+public class EventJsonModule extends SimpleModule {
+
+    public EventJsonModule() {
+        super(EventJsonModule.class.getSimpleName());
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                // HAL 모듈이 없는 ObjectMapper(application/json 등)는 링크 모양이 달라서 건드리지 않는다.
+                if (config.findMixInClassFor(RepresentationModel.class) != RepresentationModelMixin.class) {
+                    return serializer;
+                }
+                Class<?> type = beanDesc.getBeanClass();
+                // 하위 클래스는 필드가 더 있을 수 있으므로 정확히 이 타입들만 바꾼다.
+                if (type == EventResource.class) {
+                    return new EventResourceSerializer((JsonSerializer<Object>) serializer);
+                }
+                if (type == CollectionModel.class || type == PagedModel.class) {
+                    return new EventCollectionSerializer((JsonSerializer<Object>) serializer);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    private abstract static class DelegatingSerializer<T> extends StdSerializer<T> implements ResolvableSerializer, ContextualSerializer {
+
+        final JsonSerializer<Object> delegate;
+
+        DelegatingSerializer(Class<T> type, JsonSerializer<Object> delegate) {
+            super(type);
+            this.delegate = delegate;
+        }
+
+        abstract boolean write(T value, JsonGenerator generator, SerializerProvider provider) throws IOException;
+
+        abstract JsonSerializer<?> withDelegate(JsonSerializer<Object> delegate);
+
+        @Override
+        public void serialize(T value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (!write(value, generator, provider)) {
+                delegate.serialize(value, generator, provider);
+            }
+        }
+
+        @Override
+        public void serializeWithType(T value, JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+            delegate.serializeWithType(value, generator, provider, typeSer);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, T value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public JsonSerializer<T> unwrappingSerializer(NameTransformer unwrapper) {
+            @SuppressWarnings("unchecked")
+            JsonSerializer<T> unwrapping = (JsonSerializer<T>) delegate.unwrappingSerializer(unwrapper);
+            return unwrapping;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            if (!(delegate instanceof ContextualSerializer)) {
+                return this;
+            }
+            JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(provider, property);
+            return contextual == delegate ? this : withDelegate((JsonSerializer<Object>) contextual);
+        }
+    }
+
+    private static class EventResourceSerializer extends DelegatingSerializer<EventResource> {
+
+        EventResourceSerializer(JsonSerializer<Object> delegate) {
+            super(EventResource.class, delegate);
+        }
+
+        @Override
+        boolean write(EventResource value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            return EventHalWriter.writeResource(value, generator, provider);
+        }
+
+        @Override
+        JsonSerializer<?> withDelegate(JsonSerializer<Object> delegate) {
+            return new EventResourceSerializer(delegate);
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static class EventCollectionSerializer extends DelegatingSerializer<CollectionModel> {
+
+        EventCollectionSerializer(JsonSerializer<Object> delegate) {
+            super(CollectionModel.class, delegate);
+        }
+
+        @Override
+        boolean write(CollectionModel value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            return EventHalWriter.writeCollection(value, generator, provider);
+        }
+
+        @Override
+        JsonSerializer<?> withDelegate(JsonSerializer<Object> delegate) {
+            return new EventCollectionSerializer(delegate);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import shine.restapi.restapi.common.SchedulerLeases;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 시각이 지난 event 의 EventStatus 를 바꾼다.
+ * <p>
+ * 테이블 전체를 훑지 않고 nextTransitionAt 인덱스로 시각이 지난 event 만 batchSize 개씩 골라서,
+ * 단계별 UPDATE 몇 문장으로 한꺼번에 옮긴다. batch 마다 트랜잭션을 나눠서 잠금을 오래 잡지 않는다.
+ * 여러 인스턴스가 같은 DB 를 쓰면 lease 를 가진 인스턴스만 처리한다. (UPDATE 조건이 멱등이라 겹쳐도 결과는 같다)
+ * 바뀐 event 는 같은 트랜잭션에서 변경 내역(EventChange)을 남기고, 커밋 뒤에 캐시에서 지우고 EventStatistics 에 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventLifecycleProcessor {
+
+    static final String LEASE = "event-lifecycle";
+
+    private final EventRepository eventRepository;
+    private final SchedulerLeases schedulerLeases;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final EventChangeRecorder eventChangeRecorder;
+    private final EventStatistics eventStatistics;
+
+    @Value("${events.lifecycle.batch-size:500}")
+    private int batchSize;
+
+    @Value("${events.lifecycle.lease-ttl:30s}")
+    private Duration leaseTtl;
+
+    /**
+     * lease 를 가졌으면 now 까지 시각이 지난 event 를 모두 옮기고 처리한 event 수를 돌려준다. lease 가 없으면 -1.
+     */
+    public int advance(LocalDateTime now) {
+        int total = 0;
+        while (true) {
+            // batch 마다 lease 를 늘린다. 밀린 event 가 많아 오래 걸리는 동안 다른 인스턴스가 가져가면 멈춘다.
+            if (!schedulerLeases.tryAcquire(LEASE, leaseTtl)) {
+                return total == 0 ? -1 : total;
+            }
+            List<Integer> ids = transactionTemplate.execute(status -> advanceBatch(now));
+            evict(ids);
+            total += ids.size();
+            if (ids.size() < batchSize) {
+                if (total > 0) {
+                    log.debug("event {}개의 상태를 바꿨습니다.", total);
+                }
+                return total;
+            }
+        }
+    }
+
+    /**
+     * 다음 전이까지 남은 시간. 전이할 event 가 없으면 null.
+     */
+    public Duration untilNextTransition(LocalDateTime now) {
+        return eventRepository.findNextTransitionAt()
+                .map(next -> next.isAfter(now) ? Duration.between(now, next) : Duration.ZERO)
+                .orElse(null);
+    }
+
+    private List<Integer> advanceBatch(LocalDateTime now) {
+        List<Integer> ids = eventRepository.findDueTransitionIds(now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        Map<Integer, EventVersion> befores = eventRepository.findVersionsByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventVersion::getId, Function.identity()));
+        eventRepository.endEvents(ids, now);
+        eventRepository.startEvents(ids, now);
+        eventRepository.closeEnrollments(ids, now);
+        eventRepository.beginEnrollments(ids, now);
+        eventRepository.rescheduleTransitions(ids, now);
+        // 상태가 바뀐 event 만 version 이 올라간다. (다음 전이 시각만 다시 정한 event 는 그대로)
+        for (EventVersion after : eventRepository.findVersionsByIdIn(ids)) {
+            EventVersion before = befores.get(after.getId());
+            if (!after.getVersion().equals(before.getVersion())) {
+                eventChangeRecorder.record(after.getId(), EventChange.Type.UPDATED);
+                eventStatistics.statusChanged(before.getEventStatus(), after.getEventStatus());
+            }
+        }
+        return ids;
+    }
+
+    private void evict(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Cache events = cacheManager.getCache(EventRepository.EVENTS_CACHE);
+        if (events != null) {
+            ids.forEach(events::evict);
+        }
+        Cache eventPages = cacheManager.getCache(EventRepository.EVENT_PAGES_CACHE);
+        if (eventPages != null) {
+            eventPages.clear();
+        }
+    }
+}
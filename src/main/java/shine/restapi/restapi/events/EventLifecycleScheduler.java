@@ -0,0 +1,81 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import shine.restapi.restapi.common.SchedulerLeases;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventLifecycleProcessor 를 돌린다. (events.lifecycle.enabled=false 로 끈다)
+ * 일정한 주기로 돌지 않고, 처리한 뒤 가장 가까운 nextTransitionAt 까지 기다린다. 다만 다른 인스턴스가 만든 event 나
+ * lease 만료를 놓치지 않도록 max-interval 보다 오래 기다리지는 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "events.lifecycle.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class EventLifecycleScheduler implements SmartLifecycle {
+
+    private final EventLifecycleProcessor eventLifecycleProcessor;
+    private final SchedulerLeases schedulerLeases;
+
+    @Value("${events.lifecycle.max-interval:5s}")
+    private Duration maxInterval;
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::run);
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdownNow();
+        executor = null;
+        try {
+            // 다른 인스턴스가 ttl 을 기다리지 않고 바로 이어받게 한다.
+            schedulerLeases.release(EventLifecycleProcessor.LEASE);
+        } catch (RuntimeException e) {
+            log.debug("lease 를 돌려주지 못했습니다. ttl 이 지나면 다른 인스턴스가 가져갑니다.", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private void run() {
+        Duration delay = maxInterval;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (eventLifecycleProcessor.advance(now) >= 0) {
+                Duration untilNext = eventLifecycleProcessor.untilNextTransition(LocalDateTime.now());
+                if (untilNext != null && untilNext.compareTo(maxInterval) < 0) {
+                    delay = untilNext;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("event 상태 전이에 실패했습니다. {} 뒤에 다시 시도합니다.", maxInterval, e);
+        }
+        ScheduledExecutorService current = executor;
+        if (current != null && !current.isShutdown()) {
+            current.schedule(this::run, Math.max(delay.toMillis(), 10), TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import shine.restapi.restapi.common.LinkTemplates;
+
+/**
+ * event, 변경 내역, 통계 링크. 매핑 경로는 컨트롤러에서 한 번만 읽고, base URI 마다 LinkTemplates 에 한 번 만들어 둔다.
+ */
+public final class EventLinks {
+
+    static final String EVENTS_PATH = LinkTemplates.mappingOf(EventController.class);
+    static final String CHANGES_PATH = LinkTemplates.mappingOf(EventChangeController.class);
+    static final String STATISTICS_PATH = LinkTemplates.mappingOf(EventStatisticsController.class);
+
+    private final String events;
+    private final String eventPrefix;
+    private final String changesPrefix;
+    private final String statistics;
+
+    private EventLinks(String base) {
+        this.events = base + EVENTS_PATH;
+        this.eventPrefix = events + "/";
+        this.changesPrefix = base + CHANGES_PATH + "?after=";
+        this.statistics = base + STATISTICS_PATH;
+    }
+
+    public static EventLinks of(LinkTemplates links) {
+        return links.get(EventLinks.class, EventLinks::new);
+    }
+
+    /**
+     * 현재 요청의 base URI 에 해당하는 링크.
+     */
+    public static EventLinks current() {
+        return of(LinkTemplates.current());
+    }
+
+    public static EventLinks forRequest(ServerHttpRequest request) {
+        return of(LinkTemplates.forRequest(request));
+    }
+
+    /**
+     * /api/events
+     */
+    public String events() {
+        return events;
+    }
+
+    /**
+     * /api/events/{id}
+     */
+    public String event(Object id) {
+        return eventPrefix + id;
+    }
+
+    /**
+     * /api/events/changes?after={position}
+     */
+    public String changes(long after) {
+        return changesPrefix + after;
+    }
+
+    /**
+     * /api/events/statistics
+     */
+    public String statistics() {
+        return statistics;
+    }
+}
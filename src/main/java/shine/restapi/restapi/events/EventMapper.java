@@ -0,0 +1,17 @@
+package shine.restapi.restapi.events;
+
+/**
+ * EventDto 를 Event 로 옮기는 매퍼.
+ * events.mapper 설정으로 구현을 고른다. (direct: 기본값, modelmapper: 기존 리플렉션 방식)
+ */
+public interface EventMapper {
+
+    Event toEvent(EventDto eventDto);
+
+    void update(EventDto eventDto, Event event);
+
+    /**
+     * PATCH 에서 지금 값을 EventDto 로 꺼낸 뒤 patch 를 덮어쓴다.
+     */
+    EventDto toDto(Event event);
+}
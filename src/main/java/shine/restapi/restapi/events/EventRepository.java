@@ -1,7 +1,157 @@
 package shine.restapi.restapi.events;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-public interface EventRepository extends JpaRepository<Event, Integer> {
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+/**
+ * 단건 조회(events)와 목록 페이지(eventPages)는 캐시를 거친다.
+ * 캐시에 들어간 Event 는 여러 요청이 같이 보므로 수정하면 안 된다. 수정할 때는 findUncachedById 로 읽는다.
+ */
+public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
+
+    String EVENTS_CACHE = "events";
+    String EVENT_PAGES_CACHE = "eventPages";
+
+    @Override
+    @Cacheable(cacheNames = EVENTS_CACHE, unless = "#result == null")
+    Optional<Event> findById(Integer id);
+
+    @Override
+    @Cacheable(cacheNames = EVENT_PAGES_CACHE)
+    Page<Event> findAll(Pageable pageable);
+
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findUncachedById(Integer id);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EVENTS_CACHE, key = "#result.id"),
+            @CacheEvict(cacheNames = EVENT_PAGES_CACHE, allEntries = true)
+    })
+    <S extends Event> S save(S entity);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EVENTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = EVENT_PAGES_CACHE, allEntries = true)
+    })
+    <S extends Event> List<S> saveAll(Iterable<S> entities);
+
+    /**
+     * 신청 기간 안이고 자리가 남아있으면 좌석 하나를 잡는다. 잡았으면 1, 아니면 0 을 돌려준다.
+     * 조건 확인과 증가가 UPDATE 한 문장이라 동시에 신청해도 limitOfEnrollment 를 넘지 않는다. (0 이하면 제한 없음)
+     * 상태는 BEGAN_ENROLLMEND 로, 마지막 자리였으면 CLOSED_ENROLLMENT 로 바꾸고, 상태가 바뀔 때만 version 을 올린다.
+     * SET 의 오른쪽 식은 모두 UPDATE 전의 값을 본다.
+     * HQL 은 CASE 안에 enum 상수를 쓸 수 없어서 네이티브 쿼리로 쓴다. (EventStatus 는 문자열로 저장한다)
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "update event set enrollment_count = enrollment_count + 1, " +
+            "event_status = case when limit_of_enrollment > 0 and enrollment_count + 1 >= limit_of_enrollment " +
+            "then 'CLOSED_ENROLLMENT' else 'BEGAN_ENROLLMEND' end, " +
+            "next_transition_at = case when limit_of_enrollment > 0 and enrollment_count + 1 >= limit_of_enrollment " +
+            "then begin_event_date_time else close_enrollment_date_time end, " +
+            "version = case when event_status = 'BEGAN_ENROLLMEND' " +
+            "and (limit_of_enrollment <= 0 or enrollment_count + 1 < limit_of_enrollment) " +
+            "then version else version + 1 end " +
+            "where id = :id and event_status in ('PUBLISHED', 'BEGAN_ENROLLMEND') " +
+            "and begin_enrollment_date_time <= :now and close_enrollment_date_time > :now " +
+            "and (limit_of_enrollment <= 0 or enrollment_count < limit_of_enrollment)")
+    int reserveSeat(Integer id, LocalDateTime now);
+
+    /**
+     * 신청 기간 안이면 좌석 하나를 돌려놓는다. 마감(CLOSED_ENROLLMENT)이었으면 다시 BEGAN_ENROLLMEND 로 연다.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "update event set enrollment_count = enrollment_count - 1, " +
+            "event_status = case when event_status = 'CLOSED_ENROLLMENT' then 'BEGAN_ENROLLMEND' else event_status end, " +
+            "next_transition_at = case when event_status = 'CLOSED_ENROLLMENT' then close_enrollment_date_time else next_transition_at end, " +
+            "version = case when event_status = 'CLOSED_ENROLLMENT' then version + 1 else version end " +
+            "where id = :id and enrollment_count > 0 and close_enrollment_date_time > :now")
+    int releaseSeat(Integer id, LocalDateTime now);
+
+    /**
+     * 다음 전이 시각이 지난 event. ix_event_next_transition 인덱스만 훑는다.
+     */
+    @Query("select e.id from Event e where e.nextTransitionAt <= :now order by e.nextTransitionAt")
+    List<Integer> findDueTransitionIds(LocalDateTime now, Pageable pageable);
+
+    @Query("select min(e.nextTransitionAt) from Event e")
+    Optional<LocalDateTime> findNextTransitionAt();
+
+    /*
+     * 시각이 지난 event 를 지금 있어야 할 상태로 옮긴다. 뒤 단계부터 실행해서 한 event 가 한 문장에서만 바뀌게 한다.
+     * (신청 기간 중에 서버가 내려가 있었어도 PUBLISHED 에서 바로 STARTED 로 간다)
+     */
+
+    @Modifying
+    @Query(nativeQuery = true, value = "update event set event_status = 'ENDED', next_transition_at = null, version = version + 1 " +
+            "where id in (:ids) and event_status in ('PUBLISHED', 'BEGAN_ENROLLMEND', 'CLOSED_ENROLLMENT', 'STARTED') " +
+            "and end_event_date_time <= :now")
+    int endEvents(List<Integer> ids, LocalDateTime now);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "update event set event_status = 'STARTED', next_transition_at = end_event_date_time, version = version + 1 " +
+            "where id in (:ids) and event_status in ('PUBLISHED', 'BEGAN_ENROLLMEND', 'CLOSED_ENROLLMENT') " +
+            "and begin_event_date_time <= :now")
+    int startEvents(List<Integer> ids, LocalDateTime now);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "update event set event_status = 'CLOSED_ENROLLMENT', next_transition_at = begin_event_date_time, version = version + 1 " +
+            "where id in (:ids) and event_status in ('PUBLISHED', 'BEGAN_ENROLLMEND') " +
+            "and close_enrollment_date_time <= :now")
+    int closeEnrollments(List<Integer> ids, LocalDateTime now);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "update event set event_status = 'BEGAN_ENROLLMEND', next_transition_at = close_enrollment_date_time, version = version + 1 " +
+            "where id in (:ids) and event_status = 'PUBLISHED' " +
+            "and begin_enrollment_date_time <= :now")
+    int beginEnrollments(List<Integer> ids, LocalDateTime now);
+
+    /**
+     * 상태는 그대로인데 시각만 지난 event(상태나 시각을 직접 바꾼 경우)의 다음 전이 시각을 Event.scheduleNextTransition 과 같은 규칙으로 다시 정한다.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "update event set next_transition_at = case event_status " +
+            "when 'PUBLISHED' then begin_enrollment_date_time " +
+            "when 'BEGAN_ENROLLMEND' then close_enrollment_date_time " +
+            "when 'CLOSED_ENROLLMENT' then begin_event_date_time " +
+            "when 'STARTED' then end_event_date_time " +
+            "else null end " +
+            "where id in (:ids) and next_transition_at <= :now")
+    int rescheduleTransitions(List<Integer> ids, LocalDateTime now);
+
+    @Query("select new shine.restapi.restapi.events.EventVersion(e.id, e.version, e.eventStatus) from Event e where e.id in :ids")
+    List<EventVersion> findVersionsByIdIn(List<Integer> ids);
+
+    @Query("select new shine.restapi.restapi.events.EventSeats(e.id, e.enrollmentCount, e.limitOfEnrollment, e.eventStatus) " +
+            "from Event e where e.id = :id")
+    Optional<EventSeats> findSeatsById(Integer id);
+
+    /**
+     * 전체 event 를 id 순서로 커서를 통해 읽는다. 트랜잭션 안에서 사용하고 반드시 닫아야 한다.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select e from Event e order by e.id")
+    Stream<Event> streamAll();
 }
@@ -0,0 +1,16 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * 커서 위치 다음(backward 이면 이전)의 event 를 최대 limit 개 조회한다.
+     * OFFSET 과 count 쿼리 없이 (정렬 값, id) 인덱스 탐색만으로 동작하므로 몇 번째 페이지든 비용이 같다.
+     * 결과는 항상 커서의 정렬 순서를 따른다. spec 이 있으면 검색 조건도 함께 건다.
+     * 정렬 값이 null 인 event 는 오름차순에서 맨 뒤, 내림차순에서 맨 앞에 id 순서로 온다.
+     */
+    List<Event> findSeek(EventCursor cursor, Specification<Event> spec, boolean backward, int limit);
+}
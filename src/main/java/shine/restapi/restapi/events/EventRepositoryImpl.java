@@ -0,0 +1,102 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Event> findSeek(EventCursor cursor, Specification<Event> spec, boolean backward, int limit) {
+        boolean ascending = cursor.getDirection().isAscending() != backward;
+        List<Event> events;
+        if (!cursor.isNullable()) {
+            events = find(cursor, spec, ascending, null, cursor.hasPosition(), limit);
+        } else {
+            // null 은 오름차순에서 맨 뒤, 내림차순에서 맨 앞이다. DB 마다 null 의 정렬 위치가 다르므로(H2 는 맨 앞, PostgreSQL 은 맨 뒤)
+            // 값이 있는 row 와 null 인 row 를 나눠서 읽고 이어 붙인다. 두 번째 쿼리는 첫 번째가 limit 을 못 채웠을 때만 나간다.
+            boolean atNull = cursor.hasPosition() && cursor.getValue() == null;
+            events = new ArrayList<>();
+            if (ascending) {
+                if (!atNull) {
+                    events.addAll(find(cursor, spec, true, false, cursor.hasPosition(), limit));
+                }
+                if (events.size() < limit) {
+                    events.addAll(find(cursor, spec, true, true, atNull, limit - events.size()));
+                }
+            } else {
+                if (!cursor.hasPosition() || atNull) {
+                    events.addAll(find(cursor, spec, false, true, atNull, limit));
+                }
+                if (events.size() < limit) {
+                    events.addAll(find(cursor, spec, false, false, cursor.hasPosition() && !atNull, limit - events.size()));
+                }
+            }
+        }
+        if (backward) {
+            Collections.reverse(events);
+        }
+        return events;
+    }
+
+    /**
+     * (정렬 값, id) 순서로 limit 개 읽는다.
+     *
+     * @param nulls        true 면 정렬 값이 null 인 row 만(id 순서), false 면 null 이 아닌 row 만, null 이면 가리지 않는다.
+     * @param fromPosition false 면 커서 위치와 상관없이 처음부터 읽는다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Event> find(EventCursor cursor, Specification<Event> spec, boolean ascending,
+                             Boolean nulls, boolean fromPosition, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+
+        Path<Comparable> key = root.get(cursor.getProperty());
+        Path<Integer> id = root.get("id");
+        boolean byId = cursor.getProperty().equals("id") || Boolean.TRUE.equals(nulls);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate condition = spec.toPredicate(root, query, cb);
+            if (condition != null) {
+                predicates.add(condition);
+            }
+        }
+        if (nulls != null) {
+            predicates.add(nulls ? cb.isNull(key) : cb.isNotNull(key));
+        }
+        if (fromPosition) {
+            Comparable value = cursor.getValue();
+            Predicate seek;
+            if (byId) {
+                seek = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+            } else {
+                Predicate tieBreak = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+                seek = cb.or(
+                        ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value),
+                        cb.and(cb.equal(key, value), tieBreak));
+            }
+            predicates.add(seek);
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        if (byId) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
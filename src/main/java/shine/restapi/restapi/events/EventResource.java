@@ -1,13 +1,18 @@
 package shine.restapi.restapi.events;
 
 import org.springframework.hateoas.EntityModel;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import shine.restapi.restapi.common.LinkTemplates;
 
 public class EventResource extends EntityModel<Event> {
 
     public EventResource(Event content) {
+        this(content, LinkTemplates.current());
+    }
+
+    public EventResource(Event content, LinkTemplates links) {
         super(content);
-        add(linkTo(EventController.class).slash(content.getId()).withRel("self"));
+        add(Link.of(EventLinks.of(links).event(content.getId()), IanaLinkRelations.SELF));
     }
 }
@@ -0,0 +1,96 @@
+package shine.restapi.restapi.events;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static shine.restapi.restapi.events.EventSpecifications.*;
+
+/**
+ * GET /api/events 의 검색 조건. 값이 있는 조건만 WHERE 절에 들어간다.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+public class EventSearchCondition {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime closeEnrollmentFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime closeEnrollmentTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endEventFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endEventTo;
+    private EventStatus eventStatus;
+    private Boolean free;
+    private Boolean offline;
+    private Integer priceFrom; // basePrice 기준
+    private Integer priceTo;
+    private String location; // 앞부분 일치
+
+    public boolean isEmpty() {
+        return beginEnrollmentFrom == null && beginEnrollmentTo == null
+                && closeEnrollmentFrom == null && closeEnrollmentTo == null
+                && beginEventFrom == null && beginEventTo == null
+                && endEventFrom == null && endEventTo == null
+                && eventStatus == null && free == null && offline == null
+                && priceFrom == null && priceTo == null
+                && (location == null || location.isEmpty());
+    }
+
+    public Specification<Event> toSpecification() {
+        return Specification.where(eventStatusIs(eventStatus))
+                .and(freeIs(free))
+                .and(offlineIs(offline))
+                .and(between("beginEnrollmentDateTime", beginEnrollmentFrom, beginEnrollmentTo))
+                .and(between("closeEnrollmentDateTime", closeEnrollmentFrom, closeEnrollmentTo))
+                .and(between("beginEventDateTime", beginEventFrom, beginEventTo))
+                .and(between("endEventDateTime", endEventFrom, endEventTo))
+                .and(between("basePrice", priceFrom, priceTo))
+                .and(locationStartsWith(location));
+    }
+
+    /**
+     * 링크에 검색 조건을 이어 붙이기 위한 query string. 조건이 있으면 '&' 로 시작한다.
+     */
+    public String toQueryString() {
+        StringBuilder query = new StringBuilder();
+        append(query, "beginEnrollmentFrom", beginEnrollmentFrom);
+        append(query, "beginEnrollmentTo", beginEnrollmentTo);
+        append(query, "closeEnrollmentFrom", closeEnrollmentFrom);
+        append(query, "closeEnrollmentTo", closeEnrollmentTo);
+        append(query, "beginEventFrom", beginEventFrom);
+        append(query, "beginEventTo", beginEventTo);
+        append(query, "endEventFrom", endEventFrom);
+        append(query, "endEventTo", endEventTo);
+        append(query, "eventStatus", eventStatus);
+        append(query, "free", free);
+        append(query, "offline", offline);
+        append(query, "priceFrom", priceFrom);
+        append(query, "priceTo", priceTo);
+        append(query, "location", location);
+        return query.toString();
+    }
+
+    private static void append(StringBuilder query, String name, Object value) {
+        if (value != null) {
+            query.append('&').append(name).append('=')
+                    .append(UriUtils.encodeQueryParam(value.toString(), StandardCharsets.UTF_8));
+        }
+    }
+}
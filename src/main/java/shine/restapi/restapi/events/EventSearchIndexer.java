@@ -0,0 +1,74 @@
+package shine.restapi.restapi.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 시작 시점에 색인이 비어있으면 DB 의 전체 event 를 다시 색인한다.
+ * 메모리(local-heap) 색인은 재시작하면 비어있고, 디스크 색인은 새 인스턴스에서 비어있다.
+ * 색인 디렉터리가 DB 와 어긋났을 때(DB 를 직접 고친 경우 등)는 events.search.reindex-on-startup=true 로 비어있지 않아도 다시 색인한다.
+ * <p>
+ * 색인은 인스턴스마다 따로 있고 그 인스턴스의 쓰기만 반영되므로 검색은 인스턴스 하나에서만 맞는 결과를 준다.
+ */
+@Slf4j
+@Component
+public class EventSearchIndexer implements ApplicationRunner {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean reindexOnStartup;
+
+    public EventSearchIndexer(EntityManagerFactory entityManagerFactory,
+                              @Value("${events.search.reindex-on-startup:false}") boolean reindexOnStartup) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.reindexOnStartup = reindexOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (reindexOnStartup || isIndexEmpty()) {
+            reindex();
+        }
+    }
+
+    public boolean isIndexEmpty() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return Search.session(entityManager).search(Event.class)
+                    .where(f -> f.matchAll())
+                    .fetchTotalHitCount() == 0;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * JPA 를 거치지 않고 바뀐 event(reactive 스택의 쓰기) 하나를 색인에 반영한다.
+     */
+    public void index(Integer id) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Event event = entityManager.find(Event.class, id);
+            if (event != null) {
+                SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+                indexingPlan.addOrUpdate(event);
+                indexingPlan.execute();
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    public void reindex() throws InterruptedException {
+        log.info("event 전체 재색인 시작");
+        Search.mapping(entityManagerFactory).scope(Event.class).massIndexer().startAndWait();
+        log.info("event 전체 재색인 완료");
+    }
+}
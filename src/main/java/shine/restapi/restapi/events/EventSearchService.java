@@ -0,0 +1,38 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.search.engine.search.common.BooleanOperator;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+/**
+ * name, location, description 에 대한 전문 검색. Lucene 역색인에서 점수 순으로 id 를 찾고,
+ * 해당 페이지의 event 만 DB 에서 읽는다. 색인은 Hibernate Search 가 커밋 시점에 갱신한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventSearchService {
+
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public Page<Event> search(String text, Pageable pageable) {
+        SearchResult<Event> result = Search.session(entityManager)
+                .search(Event.class)
+                .where(f -> f.simpleQueryString()
+                        .field("name").boost(3f)
+                        .field("location").boost(2f)
+                        .field("description")
+                        .matching(text)
+                        .defaultOperator(BooleanOperator.AND))
+                .fetch((int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(result.hits(), pageable, result.total().hitCount());
+    }
+}
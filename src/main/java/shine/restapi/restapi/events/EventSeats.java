@@ -0,0 +1,24 @@
+package shine.restapi.restapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * event 의 참가 신청 현황. 캐시를 거치지 않고 DB 에서 바로 읽는다.
+ */
+@Getter
+@AllArgsConstructor
+public class EventSeats {
+
+    private final Integer eventId;
+    private final int enrollmentCount;
+    private final int limitOfEnrollment;
+    private final EventStatus eventStatus;
+
+    /**
+     * 남은 자리. 제한이 없으면(limitOfEnrollment <= 0) -1.
+     */
+    public int getRemaining() {
+        return limitOfEnrollment <= 0 ? -1 : Math.max(limitOfEnrollment - enrollmentCount, 0);
+    }
+}
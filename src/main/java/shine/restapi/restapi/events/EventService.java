@@ -0,0 +1,71 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * event 를 저장하면서 같은 트랜잭션에서 변경 내역(EventChange)을 남긴다.
+ * evict 를 트랜잭션 바깥인 여기에 두어서, 커밋 전에 비운 캐시에 이전 값이 다시 들어가지 않게 한다.
+ * 바뀐 값은 EventStatistics 에도 넘겨서 커밋 뒤에 집계에 반영한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventService {
+
+    private final EventRepository eventRepository;
+    private final EventChangeRecorder eventChangeRecorder;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final EventStatistics eventStatistics;
+
+    @Transactional
+    @CacheEvict(cacheNames = EventRepository.EVENT_PAGES_CACHE, allEntries = true)
+    public Event create(Event event) {
+        Event saved = eventRepository.save(event);
+        eventChangeRecorder.record(saved.getId(), EventChange.Type.CREATED);
+        eventStatistics.created(saved);
+        return saved;
+    }
+
+    /**
+     * event 와 Idempotency-Key 를 한 트랜잭션에 남긴다. 키가 이미 있으면 DataIntegrityViolationException 을 던지고 event 도 롤백된다.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = EventRepository.EVENT_PAGES_CACHE, allEntries = true)
+    public Event create(Event event, String idempotencyKey, String requestHash, Duration ttl) {
+        Event saved = eventRepository.save(event);
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.insert(IdempotencyKey.builder()
+                .key(idempotencyKey)
+                .requestHash(requestHash)
+                .eventId(saved.getId())
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+        eventChangeRecorder.record(saved.getId(), EventChange.Type.CREATED);
+        eventStatistics.created(saved);
+        return saved;
+    }
+
+    /**
+     * version 이 맞지 않으면 OptimisticLockingFailureException 을 던진다.
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = EventRepository.EVENTS_CACHE, key = "#event.id"),
+            @CacheEvict(cacheNames = EventRepository.EVENT_PAGES_CACHE, allEntries = true)
+    })
+    public Event update(Event event) {
+        // merge 가 어차피 읽을 행을 먼저 읽어 두면 merge 는 그 인스턴스를 쓰므로, 쿼리를 늘리지 않고 바뀌기 전 값을 얻는다.
+        EventFacets before = eventRepository.findUncachedById(event.getId()).map(EventFacets::of).orElse(null);
+        Event saved = eventRepository.saveAndFlush(event);
+        eventChangeRecorder.record(saved.getId(), EventChange.Type.UPDATED);
+        eventStatistics.changed(before, EventFacets.of(saved));
+        return saved;
+    }
+}
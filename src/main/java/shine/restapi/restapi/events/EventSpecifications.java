@@ -0,0 +1,52 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Event 검색 조건. 값이 null 이면 조건을 걸지 않는다. (Specification.where/and 는 null 을 무시한다)
+ */
+public final class EventSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> eventStatusIs(EventStatus eventStatus) {
+        return eventStatus == null ? null : (root, query, cb) -> cb.equal(root.get("eventStatus"), eventStatus);
+    }
+
+    public static Specification<Event> freeIs(Boolean free) {
+        return free == null ? null : (root, query, cb) -> cb.equal(root.get("free"), free);
+    }
+
+    public static Specification<Event> offlineIs(Boolean offline) {
+        return offline == null ? null : (root, query, cb) -> cb.equal(root.get("offline"), offline);
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Event> between(String property, T from, T to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get(property), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get(property), from);
+            }
+            return cb.between(root.get(property), from, to);
+        };
+    }
+
+    /**
+     * 'prefix%' 형태라서 location 인덱스를 탈 수 있다.
+     */
+    public static Specification<Event> locationStartsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("location"), pattern, LIKE_ESCAPE);
+    }
+}
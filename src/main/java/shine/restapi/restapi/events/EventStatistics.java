@@ -0,0 +1,302 @@
+package shine.restapi.restapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * event 집계(상태별, 무료/유료, 오프라인/온라인, basePrice 구간별 개수와 합계)를 메모리 카운터로 들고 있는다.
+ * <p>
+ * 조회할 때 테이블을 훑지 않는다. event 를 만들고 바꾸는 쪽이 바뀌기 전과 후의 EventFacets 를 넘기면
+ * 트랜잭션마다 차이를 모았다가 커밋된 뒤에만 카운터에 더한다. (롤백되면 버린다)
+ * 차이를 넘기지 않는 경로(DB 를 직접 고친 경우, 다른 인스턴스의 쓰기)로 어긋난 값은
+ * reconcileInterval 마다 GROUP BY 한 문장으로 다시 세서 통째로 바꾼다.
+ * 다시 세는 동안 커밋된 차이는 잃거나 두 번 더할 수 있지만 다음 reconcile 에서 맞춰진다.
+ */
+@Slf4j
+@Component
+public class EventStatistics implements SmartLifecycle {
+
+    private static final EventStatus[] STATUSES = EventStatus.values();
+
+    private final EntityManager entityManager;
+    private final int[] priceBounds;
+    private final Duration reconcileInterval;
+    private final String reconcileQuery;
+
+    private volatile Counters counters;
+    private volatile LocalDateTime reconciledAt;
+    private ScheduledExecutorService reconciler;
+
+    /**
+     * @param priceBounds basePrice 구간의 경계. 오름차순이고 각 구간은 [앞 경계, 다음 경계) 이다. 첫 구간은 첫 경계 미만, 마지막 구간은 끝 경계 이상.
+     */
+    public EventStatistics(EntityManager entityManager,
+                           @Value("${events.statistics.price-bounds:1,10000,30000,50000,100000}") int[] priceBounds,
+                           @Value("${events.statistics.reconcile-interval:1m}") Duration reconcileInterval) {
+        this.entityManager = entityManager;
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.reconcileInterval = reconcileInterval;
+        this.reconcileQuery = reconcileQuery(this.priceBounds);
+        this.counters = new Counters(this.priceBounds.length + 1);
+    }
+
+    private static String reconcileQuery(int[] priceBounds) {
+        StringBuilder bucket = new StringBuilder("case");
+        for (int i = 0; i < priceBounds.length; i++) {
+            bucket.append(" when base_price < ").append(priceBounds[i]).append(" then ").append(i);
+        }
+        bucket.append(" else ").append(priceBounds.length).append(" end");
+        return "select event_status, free, offline, " + bucket + ", count(*), sum(base_price) from event " +
+                "group by event_status, free, offline, " + bucket;
+    }
+
+    /**
+     * 새로 만든 event
+     */
+    public void created(Event event) {
+        changed(null, EventFacets.of(event));
+    }
+
+    /**
+     * before 가 null 이면 새로 만든 event, after 가 null 이면 지운 event 다.
+     */
+    public void changed(EventFacets before, EventFacets after) {
+        if (before != null && before.equals(after)) {
+            return;
+        }
+        Counters delta = pending();
+        if (before != null) {
+            delta.add(before, -1);
+        }
+        if (after != null) {
+            delta.add(after, 1);
+        }
+        applyIfNoTransaction(delta);
+    }
+
+    /**
+     * 상태만 바뀐 event (UPDATE 문으로 상태만 바꾼 경우)
+     */
+    public void statusChanged(EventStatus from, EventStatus to) {
+        if (from == to) {
+            return;
+        }
+        Counters delta = pending();
+        delta.byStatus(from).decrement();
+        delta.byStatus(to).increment();
+        applyIfNoTransaction(delta);
+    }
+
+    /**
+     * 트랜잭션마다 하나씩 모으는 차이. 트랜잭션 밖이면 바로 더할 새 차이.
+     */
+    private Counters pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Counters(priceBounds.length + 1);
+        }
+        Counters delta = (Counters) TransactionSynchronizationManager.getResource(this);
+        if (delta == null) {
+            Counters changes = new Counters(priceBounds.length + 1);
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventStatistics.this);
+                    if (status == STATUS_COMMITTED) {
+                        counters.addAll(changes);
+                    }
+                }
+            });
+            delta = changes;
+        }
+        return delta;
+    }
+
+    private void applyIfNoTransaction(Counters delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counters.addAll(delta);
+        }
+    }
+
+    /**
+     * event 테이블을 GROUP BY 한 번으로 다시 세서 카운터를 바꾼다.
+     */
+    public synchronized void reconcile() {
+        Counters counted = new Counters(priceBounds.length + 1);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(reconcileQuery).getResultList();
+        for (Object[] row : rows) {
+            long count = ((Number) row[4]).longValue();
+            EventStatus status = row[0] == null ? null : EventStatus.valueOf(row[0].toString());
+            counted.total.add(count);
+            if (status != null) {
+                counted.byStatus(status).add(count);
+            }
+            if (Boolean.TRUE.equals(row[1])) {
+                counted.free.add(count);
+            }
+            if (Boolean.TRUE.equals(row[2])) {
+                counted.offline.add(count);
+            }
+            counted.priceBuckets[((Number) row[3]).intValue()].add(count);
+            counted.basePriceSum.add(row[5] == null ? 0 : ((Number) row[5]).longValue());
+        }
+        counters = counted;
+        reconciledAt = LocalDateTime.now();
+    }
+
+    public long getTotal() {
+        return counters.total.sum();
+    }
+
+    public long getCount(EventStatus status) {
+        return counters.byStatus(status).sum();
+    }
+
+    public long getFree() {
+        return counters.free.sum();
+    }
+
+    public long getOffline() {
+        return counters.offline.sum();
+    }
+
+    public long getBasePriceSum() {
+        return counters.basePriceSum.sum();
+    }
+
+    public List<PriceBucket> getPriceBuckets() {
+        Counters current = counters;
+        List<PriceBucket> buckets = new ArrayList<>(current.priceBuckets.length);
+        for (int i = 0; i < current.priceBuckets.length; i++) {
+            buckets.add(new PriceBucket(
+                    i == 0 ? null : priceBounds[i - 1],
+                    i == priceBounds.length ? null : priceBounds[i],
+                    current.priceBuckets[i].sum()));
+        }
+        return buckets;
+    }
+
+    /**
+     * 마지막으로 다시 센 시각. 아직 세지 않았으면 null.
+     */
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("event 통계를 다시 세지 못했습니다.", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, 0, reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        reconciler.shutdownNow();
+        reconciler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return reconciler != null;
+    }
+
+    /**
+     * basePrice 구간. from 이상 to 미만이고, null 이면 그쪽으로 끝이 없다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class PriceBucket {
+        private final Integer from;
+        private final Integer to;
+        private final long count;
+    }
+
+    private class Counters {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder[] byStatus = adders(STATUSES.length);
+        private final LongAdder free = new LongAdder();
+        private final LongAdder offline = new LongAdder();
+        private final LongAdder basePriceSum = new LongAdder();
+        private final LongAdder[] priceBuckets;
+
+        private Counters(int buckets) {
+            this.priceBuckets = adders(buckets);
+        }
+
+        private LongAdder byStatus(EventStatus status) {
+            return byStatus[status.ordinal()];
+        }
+
+        private void add(EventFacets facets, int sign) {
+            total.add(sign);
+            if (facets.getEventStatus() != null) {
+                byStatus(facets.getEventStatus()).add(sign);
+            }
+            if (facets.isFree()) {
+                free.add(sign);
+            }
+            if (facets.isOffline()) {
+                offline.add(sign);
+            }
+            basePriceSum.add((long) sign * facets.getBasePrice());
+            priceBuckets[bucketOf(facets.getBasePrice())].add(sign);
+        }
+
+        private void addAll(Counters delta) {
+            total.add(delta.total.sum());
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i].add(delta.byStatus[i].sum());
+            }
+            free.add(delta.free.sum());
+            offline.add(delta.offline.sum());
+            basePriceSum.add(delta.basePriceSum.sum());
+            for (int i = 0; i < priceBuckets.length; i++) {
+                priceBuckets[i].add(delta.priceBuckets[i].sum());
+            }
+        }
+    }
+
+    private int bucketOf(int basePrice) {
+        int found = Arrays.binarySearch(priceBounds, basePrice);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    private static LongAdder[] adders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
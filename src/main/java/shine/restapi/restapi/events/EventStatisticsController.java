@@ -0,0 +1,33 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import shine.restapi.restapi.common.LinkTemplates;
+
+/**
+ * event 집계(대시보드용). 테이블을 읽지 않고 EventStatistics 의 카운터로 바로 응답한다.
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/events/statistics")
+@RequiredArgsConstructor
+public class EventStatisticsController {
+
+    static final Link STATISTICS_PROFILE = Link.of("/docs/index.html#resource-events-statistics", "profile");
+
+    private final EventStatistics eventStatistics;
+
+    @GetMapping(produces = {MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<EventStatisticsResource> getStatistics() {
+        EventStatisticsResource resource = new EventStatisticsResource(eventStatistics, LinkTemplates.current());
+        resource.add(STATISTICS_PROFILE);
+        return ResponseEntity.ok(resource);
+    }
+}
@@ -0,0 +1,58 @@
+package shine.restapi.restapi.events;
+
+import lombok.Getter;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import shine.restapi.restapi.common.LinkTemplates;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * event 집계. EventStatistics 의 카운터를 그대로 옮기므로 event 수와 상관없이 만드는 비용이 같다.
+ */
+@Getter
+public class EventStatisticsResource extends RepresentationModel<EventStatisticsResource> {
+
+    private final long total;
+    private final Map<EventStatus, Long> byStatus = new LinkedHashMap<>();
+    private final long free;
+    private final long paid;
+    private final long offline;
+    private final long online;
+    private final BasePrice basePrice;
+    private final LocalDateTime reconciledAt;
+
+    public EventStatisticsResource(EventStatistics statistics, LinkTemplates links) {
+        this.total = statistics.getTotal();
+        for (EventStatus status : EventStatus.values()) {
+            byStatus.put(status, statistics.getCount(status));
+        }
+        this.free = statistics.getFree();
+        this.paid = total - free;
+        this.offline = statistics.getOffline();
+        this.online = total - offline;
+        long sum = statistics.getBasePriceSum();
+        this.basePrice = new BasePrice(sum, total == 0 ? 0 : (double) sum / total, statistics.getPriceBuckets());
+        this.reconciledAt = statistics.getReconciledAt();
+        EventLinks eventLinks = EventLinks.of(links);
+        add(Link.of(eventLinks.statistics(), IanaLinkRelations.SELF));
+        add(Link.of(eventLinks.events(), "query-events"));
+    }
+
+    @Getter
+    public static class BasePrice {
+        private final long sum;
+        private final double average;
+        private final List<EventStatistics.PriceBucket> histogram;
+
+        private BasePrice(long sum, double average, List<EventStatistics.PriceBucket> histogram) {
+            this.sum = sum;
+            this.average = average;
+            this.histogram = histogram;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package shine.restapi.restapi.events;
 
+/**
+ * 공개(PUBLISHED)된 event 는 시각에 맞춰 BEGAN_ENROLLMEND -> CLOSED_ENROLLMENT -> STARTED -> ENDED 로 바뀐다.
+ * 시각에 따른 전이는 EventLifecycleProcessor 가, 신청으로 바뀌는 부분은 EventRepository.reserveSeat, releaseSeat 이 맡는다.
+ */
 public enum EventStatus {
-    DRAFT, PUBLISHED, BEGAN_ENROLLMEND
+    DRAFT, PUBLISHED, BEGAN_ENROLLMEND, CLOSED_ENROLLMENT, STARTED, ENDED
 }
@@ -11,10 +11,23 @@ import java.time.LocalDateTime;
 public class EventValidator {
 
     public void validate(EventDto eventDto, Errors errors) {
+        validatePrices(eventDto, errors);
+        validateDates(eventDto, errors);
+    }
+
+    /**
+     * PATCH 는 가격을 건드렸을 때만 부른다.
+     */
+    public void validatePrices(EventDto eventDto, Errors errors) {
         if (eventDto.getBasePrice() > eventDto.getMaxPrice() && eventDto.getMaxPrice() > 0) {
             errors.reject("wrongPrices", "Values fo prices are wrong");
         }
+    }
 
+    /**
+     * PATCH 는 날짜를 건드렸을 때만 부른다.
+     */
+    public void validateDates(EventDto eventDto, Errors errors) {
         LocalDateTime endEventDateTime = eventDto.getEndEventDateTime();
         if (endEventDateTime.isBefore(eventDto.getBeginEventDateTime()) ||
                 endEventDateTime.isBefore(eventDto.getCloseEnrollmentDateTime()) ||
@@ -25,4 +38,23 @@ public class EventValidator {
         // TODO BeginEventDateTime
         // TODO CloseEnrollmentDateTiem;
     }
+
+    /**
+     * 목록 검색 조건. 범위의 시작이 끝보다 뒤면 결과가 늘 비므로 400 으로 알려준다.
+     */
+    public void validate(EventSearchCondition condition, Errors errors) {
+        validateRange(condition.getPriceFrom(), condition.getPriceTo(), "priceFrom", "priceTo", errors);
+        validateRange(condition.getBeginEnrollmentFrom(), condition.getBeginEnrollmentTo(),
+                "beginEnrollmentFrom", "beginEnrollmentTo", errors);
+        validateRange(condition.getCloseEnrollmentFrom(), condition.getCloseEnrollmentTo(),
+                "closeEnrollmentFrom", "closeEnrollmentTo", errors);
+        validateRange(condition.getBeginEventFrom(), condition.getBeginEventTo(), "beginEventFrom", "beginEventTo", errors);
+        validateRange(condition.getEndEventFrom(), condition.getEndEventTo(), "endEventFrom", "endEventTo", errors);
+    }
+
+    private static <T extends Comparable<? super T>> void validateRange(T from, T to, String fromField, String toField, Errors errors) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            errors.rejectValue(toField, "wrongRange", toField + " is before " + fromField);
+        }
+    }
 }
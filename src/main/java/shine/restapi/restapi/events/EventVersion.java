@@ -0,0 +1,16 @@
+package shine.restapi.restapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * event 의 id, version, 상태. 여러 event 를 UPDATE 문으로 한꺼번에 바꾼 뒤 어떤 event 가 어떻게 바뀌었는지 비교할 때 쓴다.
+ */
+@Getter
+@AllArgsConstructor
+public class EventVersion {
+
+    private final Integer id;
+    private final Integer version;
+    private final EventStatus eventStatus;
+}
@@ -0,0 +1,33 @@
+package shine.restapi.restapi.events;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 로 만든 event. event 를 만드는 트랜잭션에서 같이 남기므로, 이 행이 있으면 event 도 있다.
+ * 키가 겹치면 기본 키 위반으로 트랜잭션이 롤백되어 event 가 두 번 만들어지지 않는다.
+ * expiresAt 이 지난 행은 EventIdempotency 가 지운다.
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "key")
+@Entity
+@Table(indexes = @Index(name = "ix_idempotency_key_expires_at", columnList = "expiresAt"))
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 300)
+    private String key;
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+    @Column(nullable = false)
+    private Integer eventId;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,35 @@
+package shine.restapi.restapi.events;
+
+/**
+ * Idempotency-Key 로 요청을 처리할 수 없을 때 던진다. EventController 가 reason 에 맞는 상태 코드로 바꾼다.
+ */
+public class IdempotencyKeyException extends RuntimeException {
+
+    public enum Reason {
+        /** 같은 키로 다른 내용을 보냈다. (422) */
+        KEY_REUSED("idempotencyKeyReused"),
+        /** 같은 키의 요청이 아직 처리 중이다. (409) */
+        IN_PROGRESS("idempotencyKeyInProgress");
+
+        private final String code;
+
+        Reason(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+
+    private final Reason reason;
+
+    public IdempotencyKeyException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
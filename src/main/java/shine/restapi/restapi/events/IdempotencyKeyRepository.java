@@ -0,0 +1,24 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * save 는 키가 이미 있는지 먼저 SELECT 하므로, INSERT 한 문장으로 남기고 키가 겹치면 DataIntegrityViolationException 을 받는다.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into idempotency_key (idempotency_key, request_hash, event_id, created_at, expires_at) " +
+            "values (:#{#key.key}, :#{#key.requestHash}, :#{#key.eventId}, :#{#key.createdAt}, :#{#key.expiresAt})")
+    void insert(IdempotencyKey key);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
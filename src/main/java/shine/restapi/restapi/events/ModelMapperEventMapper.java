@@ -0,0 +1,29 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "events.mapper", havingValue = "modelmapper")
+public class ModelMapperEventMapper implements EventMapper {
+
+    private final ModelMapper modelMapper;
+
+    @Override
+    public Event toEvent(EventDto eventDto) {
+        return modelMapper.map(eventDto, Event.class);
+    }
+
+    @Override
+    public void update(EventDto eventDto, Event event) {
+        modelMapper.map(eventDto, event);
+    }
+
+    @Override
+    public EventDto toDto(Event event) {
+        return modelMapper.map(event, EventDto.class);
+    }
+}
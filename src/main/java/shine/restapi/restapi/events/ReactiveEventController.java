@@ -0,0 +1,236 @@
+package shine.restapi.restapi.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import shine.restapi.restapi.common.ErrorsResource;
+import shine.restapi.restapi.common.LinkTemplates;
+import shine.restapi.restapi.enrollments.EnrollmentLinks;
+
+import javax.validation.Validator;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * reactive 프로파일에서 EventController 대신 쓰인다. 같은 /api/events 계약(생성, 목록, 단건 조회, 수정)을
+ * R2DBC 로 처리하고, 응답은 EventController 와 같은 HAL 문서를 만든다.
+ * 생성, 수정은 MVC 와 같이 같은 트랜잭션에서 event_change 를 남기고(ReactiveEventRepositoryImpl),
+ * 커밋된 뒤에 EventStatistics 와 전문 검색 색인에도 반영한다.
+ * 검색 조건, 커서 조회, 내보내기, 일괄 생성, 전문 검색, 변경 내역 구독(/api/events/changes), 통계,
+ * Idempotency-Key 는 JPA 나 서블릿에 묶여있어서 MVC 쪽에만 있다.
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
+@RequiredArgsConstructor
+public class ReactiveEventController {
+
+    private final ReactiveEventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final EventValidator eventValidator;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final EventStatistics eventStatistics;
+    private final EventSearchIndexer eventSearchIndexer;
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> createEvent(@RequestBody EventDto eventDto, ServerHttpRequest request) {
+        LinkTemplates links = LinkTemplates.forRequest(request);
+        Errors errors = validate(eventDto);
+        if (errors.hasErrors()) {
+            return Mono.just(badRequest(errors, links));
+        }
+
+        Event event = eventMapper.toEvent(eventDto);
+        event.update();
+        return eventRepository.insert(event)
+                .flatMap(newEvent -> afterCommit(null, newEvent))
+                .doOnNext(newEvent -> evict(null))
+                .map(newEvent -> {
+                    EventLinks eventLinks = EventLinks.of(links);
+                    String selfHref = eventLinks.event(newEvent.getId());
+                    EventResource eventResource = new EventResource(newEvent, links);
+                    eventResource.add(Link.of(eventLinks.events(), "query-events"));
+                    eventResource.add(Link.of(selfHref, "update-events"));
+                    eventResource.add(EventController.CREATE_PROFILE);
+                    return ResponseEntity.created(URI.create(selfHref)).eTag(EventETags.of(newEvent)).body(eventResource);
+                });
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> queryEvents(Pageable pageable, ServerHttpRequest request,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return Mono.zip(eventRepository.findAllBy(pageable).collectList(), eventRepository.count())
+                .map(result -> {
+                    Page<Event> page = new PageImpl<>(result.getT1(), pageable, result.getT2());
+                    String eTag = EventETags.of(page, page.getNumber(), page.getSize(), page.getSort(), page.getTotalElements(), "");
+                    if (EventETags.noneMatchFails(ifNoneMatch, eTag)) {
+                        return notModified(eTag);
+                    }
+                    var pageResources = toPagedModel(page, request, LinkTemplates.forRequest(request));
+                    pageResources.add(EventController.LIST_PROFILE);
+                    return ResponseEntity.ok().eTag(eTag).body(pageResources);
+                });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getEvent(@PathVariable Integer id, ServerHttpRequest request,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return eventRepository.findById(id)
+                .<ResponseEntity<?>>map(event -> {
+                    String eTag = EventETags.of(event);
+                    if (EventETags.noneMatchFails(ifNoneMatch, eTag)) {
+                        return notModified(eTag);
+                    }
+                    LinkTemplates links = LinkTemplates.forRequest(request);
+                    EventResource resource = new EventResource(event, links);
+                    resource.add(Link.of(EnrollmentLinks.of(links).enrollments(event.getId()), "enrollments"));
+                    resource.add(EventController.GET_PROFILE);
+                    return ResponseEntity.ok().eTag(eTag).body(resource);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateEvent(@PathVariable Integer id,
+                                               @RequestBody EventDto eventDto,
+                                               ServerHttpRequest request,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LinkTemplates links = LinkTemplates.forRequest(request);
+        return eventRepository.findById(id)
+                .flatMap(originEvent -> {
+                    String currentETag = EventETags.of(originEvent);
+                    if (EventETags.matchFails(ifMatch, currentETag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(currentETag).build());
+                    }
+
+                    Errors errors = validate(eventDto);
+                    if (errors.hasErrors()) {
+                        return Mono.just(badRequest(errors, links));
+                    }
+
+                    EventFacets before = EventFacets.of(originEvent);
+                    eventMapper.update(eventDto, originEvent);
+                    return eventRepository.update(originEvent)
+                            .flatMap(updatedEvent -> afterCommit(before, updatedEvent))
+                            .doOnNext(updatedEvent -> evict(updatedEvent.getId()))
+                            .<ResponseEntity<?>>map(updatedEvent -> {
+                                EventResource eventResource = new EventResource(updatedEvent, links);
+                                eventResource.add(EventController.UPDATE_PROFILE);
+                                return ResponseEntity.ok().eTag(EventETags.of(updatedEvent)).body(eventResource);
+                            })
+                            .onErrorReturn(OptimisticLockingFailureException.class,
+                                    ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * R2DBC 쓰기는 JPA 를 거치지 않으므로 EventService 가 하던 통계와 색인 반영을 커밋 뒤에 직접 한다.
+     * 둘 다 블로킹 호출이라 boundedElastic 에서 돌린다.
+     */
+    private Mono<Event> afterCommit(EventFacets before, Event event) {
+        EventFacets after = EventFacets.of(event);
+        return Mono.fromRunnable(() -> {
+                    eventStatistics.changed(before, after);
+                    eventSearchIndexer.index(event.getId());
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(event);
+    }
+
+    /**
+     * EventController 의 @Validated 와 EventValidator 를 차례로 적용한다.
+     */
+    private Errors validate(EventDto eventDto) {
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        new SpringValidatorAdapter(validator).validate(eventDto, errors);
+        if (!errors.hasErrors()) {
+            eventValidator.validate(eventDto, errors);
+        }
+        return errors;
+    }
+
+    /**
+     * PagedResourcesAssembler 와 같은 모양의 first, prev, self, next, last 링크를 만든다.
+     */
+    private PagedModel<EventResource> toPagedModel(Page<Event> page, ServerHttpRequest request, LinkTemplates links) {
+        List<EventResource> resources = page.getContent().stream()
+                .map(e -> new EventResource(e, links))
+                .collect(Collectors.toList());
+        var metadata = new PagedModel.PageMetadata(page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
+        var pageResources = PagedModel.of(resources, metadata);
+
+        boolean navigable = page.hasPrevious() || page.hasNext();
+        if (navigable) {
+            pageResources.add(pageLink(request, page, 0, IanaLinkRelations.FIRST));
+        }
+        if (page.hasPrevious()) {
+            pageResources.add(pageLink(request, page, page.getNumber() - 1, IanaLinkRelations.PREV));
+        }
+        pageResources.add(pageLink(request, page, page.getNumber(), IanaLinkRelations.SELF));
+        if (page.hasNext()) {
+            pageResources.add(pageLink(request, page, page.getNumber() + 1, IanaLinkRelations.NEXT));
+        }
+        if (navigable) {
+            pageResources.add(pageLink(request, page, Math.max(page.getTotalPages() - 1, 0), IanaLinkRelations.LAST));
+        }
+        return pageResources;
+    }
+
+    private Link pageLink(ServerHttpRequest request, Page<Event> page, int number, LinkRelation rel) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUri(request.getURI())
+                .replaceQueryParam("page", number)
+                .replaceQueryParam("size", page.getSize())
+                .replaceQueryParam("sort");
+        for (Sort.Order order : page.getSort()) {
+            builder.queryParam("sort", order.getProperty() + "," + order.getDirection().name().toLowerCase());
+        }
+        return Link.of(builder.build().toUriString(), rel);
+    }
+
+    private void evict(Integer id) {
+        if (id != null) {
+            Cache events = cacheManager.getCache(EventRepository.EVENTS_CACHE);
+            if (events != null) {
+                events.evict(id);
+            }
+        }
+        Cache pages = cacheManager.getCache(EventRepository.EVENT_PAGES_CACHE);
+        if (pages != null) {
+            pages.clear();
+        }
+    }
+
+    private ResponseEntity<?> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    private ResponseEntity<ErrorsResource> badRequest(Errors errors, LinkTemplates links) {
+        return ResponseEntity.badRequest().body(ErrorsResource.validationFailure(errors, links));
+    }
+}
@@ -0,0 +1,14 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * reactive 프로파일에서만 만들어진다. (R2DBC 자동 설정은 기본 설정에서 제외되어 있다)
+ * Event 의 @Version 은 JPA 전용이라 쓰기는 ReactiveEventRepositoryImpl 의 insert, update 를 사용한다.
+ */
+public interface ReactiveEventRepository extends R2dbcRepository<Event, Integer>, ReactiveEventRepositoryCustom {
+
+    Flux<Event> findAllBy(Pageable pageable);
+}
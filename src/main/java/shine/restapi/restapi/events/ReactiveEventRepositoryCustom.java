@@ -0,0 +1,17 @@
+package shine.restapi.restapi.events;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEventRepositoryCustom {
+
+    /**
+     * event_seq 에서 id 를 받아서 insert 한다. version 은 JPA 와 같이 0 부터 시작한다.
+     */
+    Mono<Event> insert(Event event);
+
+    /**
+     * 읽었을 때의 version 과 같을 때만 수정하고 version 을 올린다.
+     * 그 사이 다른 요청이 수정했으면 OptimisticLockingFailureException 으로 끝난다.
+     */
+    Mono<Event> update(Event event);
+}
@@ -0,0 +1,95 @@
+package shine.restapi.restapi.events;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.relational.core.query.Update;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+/**
+ * insert, update 는 EventChangeRecorder 처럼 같은 트랜잭션에서 event_change 를 남긴다.
+ * R2DBC 트랜잭션 매니저를 빈으로 올리면 JPA 의 트랜잭션 매니저와 겹치므로 여기서만 만들어 쓴다.
+ */
+public class ReactiveEventRepositoryImpl implements ReactiveEventRepositoryCustom {
+
+    private static final SqlIdentifier ID = SqlIdentifier.unquoted("id");
+    private static final SqlIdentifier ENROLLMENT_COUNT = SqlIdentifier.unquoted("enrollment_count");
+
+    private final R2dbcEntityTemplate template;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveEventRepositoryImpl(R2dbcEntityTemplate template) {
+        this.template = template;
+        this.transactionalOperator = TransactionalOperator.create(
+                new R2dbcTransactionManager(template.getDatabaseClient().getConnectionFactory()));
+    }
+
+    @Override
+    public Mono<Event> insert(Event event) {
+        // JPA 는 값 하나로 (값-50, 값] 범위를 쓰므로 sequence 값을 그대로 쓰면 겹치지 않는다.
+        return nextval("event_seq")
+                .flatMap(id -> {
+                    event.setId(id.intValue());
+                    event.setVersion(0);
+                    event.scheduleNextTransition();
+                    return template.insert(event);
+                })
+                .flatMap(newEvent -> recordChange(newEvent, EventChange.Type.CREATED))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Event> update(Event event) {
+        int readVersion = event.getVersion();
+        event.setVersion(readVersion + 1);
+        event.scheduleNextTransition(); // R2DBC 는 @PreUpdate 를 부르지 않는다.
+
+        OutboundRow row = template.getDataAccessStrategy().getOutboundRow(event);
+        Map<SqlIdentifier, Object> columns = new LinkedHashMap<>(row);
+        columns.remove(ID);
+        columns.remove(ENROLLMENT_COUNT); // 참가 신청 수는 EventRepository.reserveSeat/releaseSeat 만 바꾼다.
+        return template.update(Event.class)
+                .matching(query(where("id").is(event.getId()).and("version").is(readVersion)))
+                .apply(Update.from(columns))
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        event.setVersion(readVersion);
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "Event " + event.getId() + " was updated by another request"));
+                    }
+                    return recordChange(event, EventChange.Type.UPDATED);
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Event> recordChange(Event event, EventChange.Type type) {
+        DatabaseClient client = template.getDatabaseClient();
+        return nextval("event_change_seq")
+                .flatMap(id -> client.sql("insert into event_change (id, event_id, change_type, changed_at) " +
+                                "values (:id, :eventId, :changeType, :changedAt)")
+                        .bind("id", id)
+                        .bind("eventId", event.getId())
+                        .bind("changeType", type.name())
+                        .bind("changedAt", LocalDateTime.now())
+                        .fetch()
+                        .rowsUpdated())
+                .thenReturn(event);
+    }
+
+    private Mono<Long> nextval(String sequence) {
+        return template.getDatabaseClient().sql("select nextval('" + sequence + "')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+}
@@ -1,20 +1,21 @@
 package shine.restapi.restapi.index;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
-import shine.restapi.restapi.events.EventController;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import shine.restapi.restapi.common.LinkTemplates;
+import shine.restapi.restapi.events.EventLinks;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class IndexController {
 
-    @GetMapping("/api")
+    @GetMapping(LinkTemplates.INDEX_PATH)
     public RepresentationModel index() {
         var index = new RepresentationModel<>();
-        index.add(linkTo(EventController.class).withRel("events"));
+        index.add(Link.of(EventLinks.current().events(), "events"));
         return index;
     }
 }
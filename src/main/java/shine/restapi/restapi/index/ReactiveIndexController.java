@@ -0,0 +1,25 @@
+package shine.restapi.restapi.index;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import shine.restapi.restapi.common.LinkTemplates;
+import shine.restapi.restapi.events.EventLinks;
+
+/**
+ * reactive 프로파일에서 IndexController 대신 쓰인다.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveIndexController {
+
+    @GetMapping(LinkTemplates.INDEX_PATH)
+    public RepresentationModel index(ServerHttpRequest request) {
+        var index = new RepresentationModel<>();
+        index.add(Link.of(EventLinks.forRequest(request).events(), "events"));
+        return index;
+    }
+}
@@ -0,0 +1,28 @@
+create sequence event_seq start with 1 increment by 50;
+
+create table event (
+    id                         integer      not null,
+    name                       varchar(255),
+    description                varchar(255),
+    begin_enrollment_date_time timestamp,
+    close_enrollment_date_time timestamp,
+    begin_event_date_time      timestamp,
+    end_event_date_time        timestamp,
+    location                   varchar(255),
+    base_price                 integer      not null,
+    max_price                  integer      not null,
+    limit_of_enrollment        integer      not null,
+    offline                    boolean      not null,
+    free                       boolean      not null,
+    event_status               varchar(255),
+    version                    integer,
+    primary key (id)
+);
+
+create index ix_event_status_begin_event on event (event_status, begin_event_date_time, id);
+create index ix_event_begin_enrollment on event (begin_enrollment_date_time, id);
+create index ix_event_begin_event on event (begin_event_date_time, id);
+create index ix_event_free_offline_price on event (free, offline, base_price);
+create index ix_event_base_price on event (base_price, id);
+create index ix_event_location on event (location);
+create index ix_event_name on event (name, id);
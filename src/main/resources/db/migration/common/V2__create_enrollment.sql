@@ -0,0 +1,13 @@
+alter table event add column enrollment_count integer default 0 not null;
+
+create sequence enrollment_seq start with 1 increment by 50;
+
+create table enrollment (
+    id          bigint       not null,
+    event_id    integer      not null,
+    attendee    varchar(100) not null,
+    enrolled_at timestamp    not null,
+    primary key (id),
+    constraint uk_enrollment_event_attendee unique (event_id, attendee),
+    constraint fk_enrollment_event foreign key (event_id) references event (id)
+);
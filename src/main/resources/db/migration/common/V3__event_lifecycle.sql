@@ -0,0 +1,17 @@
+alter table event add column next_transition_at timestamp;
+
+update event set next_transition_at = case event_status
+    when 'PUBLISHED' then begin_enrollment_date_time
+    when 'BEGAN_ENROLLMEND' then close_enrollment_date_time
+    when 'CLOSED_ENROLLMENT' then begin_event_date_time
+    when 'STARTED' then end_event_date_time
+    else null end;
+
+create index ix_event_next_transition on event (next_transition_at);
+
+create table scheduler_lease (
+    name        varchar(100) not null,
+    owner       varchar(255) not null,
+    lease_until timestamp    not null,
+    primary key (name)
+);
@@ -0,0 +1,12 @@
+create sequence event_change_seq start with 1 increment by 50;
+
+create table event_change (
+    id              bigint      not null,
+    change_position bigint,
+    event_id        integer     not null,
+    change_type     varchar(20) not null,
+    changed_at      timestamp   not null,
+    primary key (id)
+);
+
+create unique index ux_event_change_position on event_change (change_position);
@@ -0,0 +1,10 @@
+create table idempotency_key (
+    idempotency_key varchar(300) not null,
+    request_hash    varchar(64)  not null,
+    event_id        integer      not null,
+    created_at      timestamp    not null,
+    expires_at      timestamp    not null,
+    primary key (idempotency_key)
+);
+
+create index ix_idempotency_key_expires_at on idempotency_key (expires_at);
@@ -0,0 +1,4 @@
+create index ix_event_status_close_enrollment on event (event_status, close_enrollment_date_time, id);
+create index ix_event_close_enrollment on event (close_enrollment_date_time, id);
+create index ix_event_status_end_event on event (event_status, end_event_date_time, id);
+create index ix_event_end_event on event (end_event_date_time, id);
@@ -0,0 +1,8 @@
+-- 상태 + 날짜 복합 인덱스와 next_transition_at, location 만 남긴다. (Event 의 @Table 과 같다)
+drop index ix_event_begin_enrollment;
+drop index ix_event_begin_event;
+drop index ix_event_close_enrollment;
+drop index ix_event_end_event;
+drop index ix_event_free_offline_price;
+drop index ix_event_base_price;
+drop index ix_event_name;
@@ -0,0 +1,2 @@
+-- 기본 collation 의 btree 는 LIKE 'prefix%' 에 쓰이지 않으므로 location 앞부분 검색용 인덱스를 따로 둔다.
+create index ix_event_location_pattern on event (location varchar_pattern_ops);
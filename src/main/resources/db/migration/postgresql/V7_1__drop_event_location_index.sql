@@ -0,0 +1,2 @@
+-- 기본 collation 의 ix_event_location 은 LIKE 'prefix%' 에 쓰이지 않는다. 앞부분 검색은 ix_event_location_pattern 이 맡는다.
+drop index ix_event_location;
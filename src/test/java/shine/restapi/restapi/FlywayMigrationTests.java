@@ -0,0 +1,34 @@
+package shine.restapi.restapi;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * prod 프로파일처럼 Flyway 로 스키마를 만들고 ddl-auto=validate 로 entity 와 맞는지 확인한다.
+ * entity 를 바꿨는데 migration 을 빠뜨리면 여기서 컨텍스트가 뜨지 않는다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.datasource.url=jdbc:h2:mem:migrationdb",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:migrationdb"
+})
+@ActiveProfiles("test")
+public class FlywayMigrationTests {
+
+    @Autowired
+    Flyway flyway;
+
+    @Test
+    @DisplayName("migration 으로 만든 스키마가 entity 매핑과 일치한다")
+    public void migrateAndValidate() {
+        assertThat(flyway.info().applied()).isNotEmpty();
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package shine.restapi.restapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import shine.restapi.restapi.RestapiApplication;
+import shine.restapi.restapi.enrollments.EnrollmentResult;
+import shine.restapi.restapi.enrollments.EnrollmentService;
+import shine.restapi.restapi.events.Event;
+import shine.restapi.restapi.events.EventRepository;
+import shine.restapi.restapi.events.EventStatus;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 여러 스레드가 한 event 에 동시에 참가 신청할 때의 처리량. 모든 신청이 같은 event 행의 조건부 UPDATE 를 거친다.
+ * 정원 제한이 없는 event 를 iteration 마다 새로 만들어서 매번 다른 참가자로 신청한다.
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="EnrollmentBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(16)
+@Fork(1)
+public class EnrollmentBenchmark {
+
+    ConfigurableApplicationContext context;
+    EnrollmentService enrollmentService;
+    EventRepository eventRepository;
+    Integer eventId;
+    final AtomicLong attendees = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(RestapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(
+                        "--spring.datasource.hikari.maximum-pool-size=16",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+        enrollmentService = context.getBean(EnrollmentService.class);
+        eventRepository = context.getBean(EventRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void createEvent() {
+        LocalDateTime now = LocalDateTime.now();
+        Event event = eventRepository.save(Event.builder()
+                .name("enrollment benchmark")
+                .description("test event")
+                .beginEnrollmentDateTime(now.minusHours(1))
+                .closeEnrollmentDateTime(now.plusDays(1))
+                .beginEventDateTime(now.plusDays(2))
+                .endEventDateTime(now.plusDays(3))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(0)
+                .location("강남역 D2 스타텁 팩토리")
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build());
+        eventId = event.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public EnrollmentResult enroll() {
+        return enrollmentService.enroll(eventId, "attendee-" + attendees.incrementAndGet());
+    }
+}
@@ -0,0 +1,107 @@
+package shine.restapi.restapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import shine.restapi.restapi.RestapiApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션을 H2(test 프로파일)로 띄우고 실제 HTTP 로 /api/events 를 호출한다.
+ * 다른 프로파일로 측정하려면 -p profiles=prod 처럼 넘긴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventApiBenchmark {
+
+    private static final String EVENT_JSON = "{"
+            + "\"name\":\"Spring\","
+            + "\"description\":\"REST API Development with Spring\","
+            + "\"beginEnrollmentDateTime\":\"2018-11-23T14:21:00\","
+            + "\"closeEnrollmentDateTime\":\"2018-11-24T14:21:00\","
+            + "\"beginEventDateTime\":\"2018-11-25T14:21:00\","
+            + "\"endEventDateTime\":\"2018-11-26T14:21:00\","
+            + "\"location\":\"강남역 D2 스타텁 팩토리\","
+            + "\"basePrice\":100,"
+            + "\"maxPrice\":200,"
+            + "\"limitOfEnrollment\":100}";
+
+    @Param({"test"})
+    String profiles;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    String baseUri;
+    String firstEventUri;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(RestapiApplication.class)
+                .profiles(profiles.split(","))
+                .run(
+                        "--server.port=0",
+                        "--events.rate-limit.enabled=false",
+                        "--events.lifecycle.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUri = "http://localhost:" + port + "/api/events";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        for (int i = 0; i < 100; i++) {
+            HttpResponse<String> response = createEvent();
+            if (i == 0) {
+                firstEventUri = response.headers().firstValue("Location").orElseThrow();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public HttpResponse<String> createEvent() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUri))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/hal+json")
+                .POST(HttpRequest.BodyPublishers.ofString(EVENT_JSON))
+                .build());
+    }
+
+    @Benchmark
+    public HttpResponse<String> getEvent() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(firstEventUri)).GET().build());
+    }
+
+    @Benchmark
+    public HttpResponse<String> queryEvents() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUri + "?page=3&size=20&sort=id,DESC")).GET().build());
+    }
+
+    @Benchmark
+    public HttpResponse<String> searchEvents() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUri + "/search?q=spring&size=20")).GET().build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.uri() + " -> " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+}
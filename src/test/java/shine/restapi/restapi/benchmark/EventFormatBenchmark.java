@@ -0,0 +1,158 @@
+package shine.restapi.restapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import shine.restapi.restapi.common.LinkTemplates;
+import shine.restapi.restapi.events.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 같은 HAL 페이지(event 20개)와 EventDto 를 JSON, Smile, CBOR 로 쓰고 읽는 비용과 크기를 비교한다.
+ * gzip=true 는 페이지 직렬화에 응답 압축(server.compression)까지 포함한 비용이다. (EventDto 읽기에는 영향이 없다)
+ * 크기(byte)는 보조 결과(pageBytes, eventDtoBytes)로 함께 나온다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    @Param({"false", "true"})
+    boolean gzip;
+
+    ObjectMapper mapper;
+    PagedModel<EventResource> page;
+    byte[] eventDtoBytes;
+    ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = halMapper(factory(format));
+        page = page();
+        eventDtoBytes = mapper.writeValueAsBytes(EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build());
+        out = new ByteArrayOutputStream(16 * 1024);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PageSize {
+        public long pageBytes;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EventDtoSize {
+        public long eventDtoBytes;
+    }
+
+    @Benchmark
+    public int serializePage(PageSize size) throws IOException {
+        out.reset();
+        if (gzip) {
+            try (OutputStream compressed = new GZIPOutputStream(out, 8192)) {
+                mapper.writeValue(compressed, page);
+            }
+        } else {
+            mapper.writeValue(out, page);
+        }
+        size.pageBytes = out.size();
+        return out.size();
+    }
+
+    @Benchmark
+    public EventDto deserializeEventDto(EventDtoSize size) throws IOException {
+        size.eventDtoBytes = eventDtoBytes.length;
+        return mapper.readValue(eventDtoBytes, EventDto.class);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileFactory();
+            case "cbor":
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    /**
+     * 애플리케이션의 HAL 응답용 ObjectMapper 와 같은 구성. (BinaryFormatConfig)
+     */
+    private static ObjectMapper halMapper(JsonFactory factory) {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new EventJsonModule())
+                .build();
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return mapper;
+    }
+
+    private static PagedModel<EventResource> page() {
+        LinkTemplates links = LinkTemplates.forBase("http://localhost:8080");
+        String events = EventLinks.of(links).events();
+        List<EventResource> resources = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            resources.add(new EventResource(Event.builder()
+                    .id(i)
+                    .name("event " + i)
+                    .description("REST API Development with Spring")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                    .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                    .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                    .location("강남역 D2 스타텁 팩토리")
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .eventStatus(EventStatus.DRAFT)
+                    .build(), links));
+        }
+        return PagedModel.of(resources, new PagedModel.PageMetadata(20, 1, 1000, 50),
+                Link.of(events + "?page=0&size=20", IanaLinkRelations.FIRST),
+                Link.of(events + "?page=0&size=20", IanaLinkRelations.PREV),
+                Link.of(events + "?page=1&size=20", IanaLinkRelations.SELF),
+                Link.of(events + "?page=2&size=20", IanaLinkRelations.NEXT),
+                Link.of(events + "?page=49&size=20", IanaLinkRelations.LAST),
+                Link.of("/docs/index.html#resource-events-list", "profile"));
+    }
+}
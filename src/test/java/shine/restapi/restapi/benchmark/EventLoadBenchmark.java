@@ -0,0 +1,106 @@
+package shine.restapi.restapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import shine.restapi.restapi.RestapiApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 많은 클라이언트가 동시에 목록 조회를 할 때 실행 모드와 동시 처리 한도에 따른 처리량과 p99 를 본다.
+ * SampleTime 결과의 p0.99 를 비교한다. 503 으로 거절된 요청은 빨리 끝나므로 status 별로 따로 센다.
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="EventLoadBenchmark -p mode=platform,virtual"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(128)
+@Fork(1)
+public class EventLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    String mode;
+
+    @Param({"0", "16"})
+    String maxConcurrent;
+
+    @Param({"20"})
+    String tomcatThreads;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    URI queryUri;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(RestapiApplication.class)
+                .profiles("test")
+                // properties(...) 로 넘기면 application.properties 가 덮어쓰므로 명령행 인자로 넘긴다.
+                .run(
+                        "--server.port=0",
+                        "--events.rate-limit.enabled=false",
+                        "--events.lifecycle.enabled=false",
+                        "--events.execution.mode=" + mode,
+                        "--events.admission.max-concurrent=" + maxConcurrent,
+                        "--server.tomcat.threads.max=" + tomcatThreads,
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--spring.cache.type=none",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        queryUri = URI.create("http://localhost:" + port + "/api/events?page=0&size=20&sort=name,DESC");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        URI createUri = URI.create("http://localhost:" + port + "/api/events");
+        for (int i = 0; i < 500; i++) {
+            client.send(HttpRequest.newBuilder(createUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{"
+                            + "\"name\":\"event " + i + "\","
+                            + "\"description\":\"load test\","
+                            + "\"beginEnrollmentDateTime\":\"2018-11-23T14:21:00\","
+                            + "\"closeEnrollmentDateTime\":\"2018-11-24T14:21:00\","
+                            + "\"beginEventDateTime\":\"2018-11-25T14:21:00\","
+                            + "\"endEventDateTime\":\"2018-11-26T14:21:00\","
+                            + "\"basePrice\":100,\"maxPrice\":200,\"limitOfEnrollment\":100}"))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statuses {
+        public long ok;
+        public long rejected;
+    }
+
+    @Benchmark
+    public int queryEvents(Statuses statuses) throws IOException, InterruptedException {
+        int status = client.send(HttpRequest.newBuilder(queryUri).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 503) {
+            statuses.rejected++;
+        } else if (status == 200) {
+            statuses.ok++;
+        } else {
+            throw new IllegalStateException(queryUri + " -> " + status);
+        }
+        return status;
+    }
+}
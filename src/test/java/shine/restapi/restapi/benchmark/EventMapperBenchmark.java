@@ -0,0 +1,60 @@
+package shine.restapi.restapi.benchmark;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import shine.restapi.restapi.events.DirectEventMapper;
+import shine.restapi.restapi.events.Event;
+import shine.restapi.restapi.events.EventDto;
+import shine.restapi.restapi.events.EventMapper;
+import shine.restapi.restapi.events.ModelMapperEventMapper;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventDto -> Event 매핑 비용 비교. -prof gc 옵션으로 할당량도 같이 보자.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMapperBenchmark {
+
+    @Param({"direct", "modelmapper"})
+    String mapper;
+
+    EventMapper eventMapper;
+    EventDto eventDto;
+    Event target;
+
+    @Setup
+    public void setUp() {
+        eventMapper = mapper.equals("direct") ? new DirectEventMapper() : new ModelMapperEventMapper(new ModelMapper());
+        eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+        target = new Event();
+    }
+
+    @Benchmark
+    public Event create() {
+        return eventMapper.toEvent(eventDto);
+    }
+
+    @Benchmark
+    public Event update() {
+        eventMapper.update(eventDto, target);
+        return target;
+    }
+}
@@ -0,0 +1,205 @@
+package shine.restapi.restapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import shine.restapi.restapi.common.ErrorsSerializer;
+import shine.restapi.restapi.common.LinkTemplates;
+import shine.restapi.restapi.events.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * events 요청 처리 과정을 단계별로 나눠서 측정한다.
+ * 바인딩(JSON -> EventDto), 검증, Event.update, HAL 링크 생성, HAL 페이지 직렬화(Jackson / EventJsonModule), 에러 직렬화.
+ * 매핑은 EventMapperBenchmark, 전체 흐름은 EventApiBenchmark 에서 측정한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPipelineBenchmark {
+
+    ObjectMapper objectMapper;
+    ObjectMapper halMapper;
+    ObjectMapper directHalMapper;
+    EventValidator eventValidator;
+    ErrorsSerializer errorsSerializer;
+
+    byte[] eventJson;
+    EventDto validEventDto;
+    EventDto wrongEventDto;
+    Event event;
+    Errors errors;
+    PagedModel<EventResource> page;
+    ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .failOnUnknownProperties(true)
+                .build();
+        eventValidator = new EventValidator();
+        errorsSerializer = new ErrorsSerializer();
+
+        validEventDto = eventDto(100, 200);
+        wrongEventDto = eventDto(10000, 200);
+        eventJson = objectMapper.writeValueAsBytes(validEventDto);
+
+        event = new Event();
+        event.setId(1);
+        event.setName("Spring");
+        event.setBasePrice(100);
+        event.setMaxPrice(200);
+        event.setLocation("강남역 D2 스타텁 팩토리");
+
+        errors = new BeanPropertyBindingResult(wrongEventDto, "eventDto");
+        eventValidator.validate(wrongEventDto, errors);
+        errors.rejectValue("description", "wrongValue", "description is wrong");
+        out = new ByteArrayOutputStream(1024);
+
+        halMapper = halMapper();
+        directHalMapper = halMapper(new EventJsonModule());
+        LinkTemplates links = LinkTemplates.forBase("http://localhost:8080");
+        String events = EventLinks.of(links).events();
+        List<EventResource> resources = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Event pageEvent = Event.builder()
+                    .id(i)
+                    .name("event " + i)
+                    .description("REST API Development with Spring")
+                    .beginEnrollmentDateTime(validEventDto.getBeginEnrollmentDateTime())
+                    .closeEnrollmentDateTime(validEventDto.getCloseEnrollmentDateTime())
+                    .beginEventDateTime(validEventDto.getBeginEventDateTime())
+                    .endEventDateTime(validEventDto.getEndEventDateTime())
+                    .location("강남역 D2 스타텁 팩토리")
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .eventStatus(EventStatus.DRAFT)
+                    .build();
+            resources.add(new EventResource(pageEvent, links));
+        }
+        page = PagedModel.of(resources, new PagedModel.PageMetadata(20, 1, 1000, 50),
+                Link.of(events + "?page=0&size=20", IanaLinkRelations.FIRST),
+                Link.of(events + "?page=0&size=20", IanaLinkRelations.PREV),
+                Link.of(events + "?page=1&size=20", IanaLinkRelations.SELF),
+                Link.of(events + "?page=2&size=20", IanaLinkRelations.NEXT),
+                Link.of(events + "?page=49&size=20", IanaLinkRelations.LAST),
+                Link.of("/docs/index.html#resource-events-list", "profile"));
+
+        // linkTo 는 현재 요청이 있어야 동작한다.
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public EventDto deserializeEventDto() throws IOException {
+        return objectMapper.readValue(eventJson, EventDto.class);
+    }
+
+    @Benchmark
+    public Errors validateValid() {
+        Errors result = new BeanPropertyBindingResult(validEventDto, "eventDto");
+        eventValidator.validate(validEventDto, result);
+        return result;
+    }
+
+    @Benchmark
+    public Errors validateWrong() {
+        Errors result = new BeanPropertyBindingResult(wrongEventDto, "eventDto");
+        eventValidator.validate(wrongEventDto, result);
+        return result;
+    }
+
+    @Benchmark
+    public Event updateEvent() {
+        event.update();
+        return event;
+    }
+
+    @Benchmark
+    public EventResource buildEventResource() {
+        return new EventResource(event);
+    }
+
+    @Benchmark
+    public int serializePageJackson() throws IOException {
+        out.reset();
+        halMapper.writeValue(out, page);
+        return out.size();
+    }
+
+    @Benchmark
+    public int serializePageDirect() throws IOException {
+        out.reset();
+        directHalMapper.writeValue(out, page);
+        return out.size();
+    }
+
+    @Benchmark
+    public int serializeErrors() throws IOException {
+        out.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            errorsSerializer.serialize(errors, generator, objectMapper.getSerializerProviderInstance());
+            generator.writeEndObject();
+        }
+        return out.size();
+    }
+
+    /**
+     * 애플리케이션의 HAL 응답용 ObjectMapper 와 같은 구성.
+     */
+    private static ObjectMapper halMapper(Module... modules) {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(modules)
+                .build();
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return mapper;
+    }
+
+    private static EventDto eventDto(int basePrice, int maxPrice) {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(basePrice)
+                .maxPrice(maxPrice)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+    }
+}
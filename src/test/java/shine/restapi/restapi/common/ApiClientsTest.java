@@ -0,0 +1,47 @@
+package shine.restapi.restapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiClientsTest {
+
+    ApiClients apiClients = new ApiClients("X-API-Key", Set.of("partner"));
+
+    @Test
+    @DisplayName("등록된 API 키는 키로 구분한다")
+    public void clientOf_Registered_Key() {
+        // given
+        MockHttpServletRequest request = request("10.0.0.1", "partner");
+
+        // when // then
+        assertThat(apiClients.clientOf(request)).isEqualTo("key:partner");
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 키를 바꿔가며 보내도 같은 IP 의 한 클라이언트로 센다")
+    public void clientOf_Unregistered_Key() {
+        // given
+        MockHttpServletRequest first = request("10.0.0.1", "random-1");
+        MockHttpServletRequest second = request("10.0.0.1", "random-2");
+        MockHttpServletRequest withoutKey = request("10.0.0.1", null);
+
+        // when // then
+        assertThat(apiClients.clientOf(first)).isEqualTo("ip:10.0.0.1");
+        assertThat(apiClients.clientOf(second)).isEqualTo("ip:10.0.0.1");
+        assertThat(apiClients.clientOf(withoutKey)).isEqualTo("ip:10.0.0.1");
+    }
+
+    private MockHttpServletRequest request(String remoteAddr, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
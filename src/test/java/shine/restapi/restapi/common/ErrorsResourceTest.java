@@ -0,0 +1,53 @@
+package shine.restapi.restapi.common;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorsResourceTest {
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final LinkTemplates links = LinkTemplates.forBase("http://localhost:8080");
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    @DisplayName("400 응답의 에러만 events.validation.failures 로 센다")
+    public void validationFailure_Counted() {
+        // given
+        Errors invalid = errors("wrongPrices");
+        Errors throttled = errors("tooManyRequests");
+
+        // when
+        ErrorsResource.validationFailure(invalid, links);
+        new ErrorsResource(throttled, links);
+
+        // then
+        assertThat(registry.counter("events.validation.failures", "code", "wrongPrices", "field", "global").count())
+                .isEqualTo(1);
+        assertThat(registry.find("events.validation.failures").tag("code", "tooManyRequests").counter()).isNull();
+    }
+
+    private Errors errors(String code) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "request");
+        errors.reject(code, code);
+        return errors;
+    }
+}
@@ -0,0 +1,129 @@
+package shine.restapi.restapi.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ErrorsSerializerTest {
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("긴 rejectValue 와 defaultMessage 는 잘라서 쓴다")
+    public void truncateLongValues() throws IOException {
+        // given
+        Map<String, Object> target = new HashMap<>();
+        target.put("description", "a".repeat(1_000_000));
+        Errors errors = new MapBindingResult(target, "eventDto");
+        errors.rejectValue("description", "tooLong", "b".repeat(10_000));
+
+        // when
+        JsonNode json = serialize(new ErrorsSerializer(10, 8), errors);
+
+        // then
+        JsonNode error = json.get("errors").get(0);
+        assertThat(error.get("rejectValue").asText()).isEqualTo("aaaaaaaa" + ErrorsSerializer.TRUNCATED);
+        assertThat(error.get("defaultMessage").asText()).isEqualTo("bbbbbbbb" + ErrorsSerializer.TRUNCATED);
+        assertThat(error.get("field").asText()).isEqualTo("description");
+    }
+
+    @Test
+    @DisplayName("문자열, 숫자, 날짜가 아닌 rejectValue 는 toString 을 부르지 않고 생략한다")
+    public void skipComplexValues() throws IOException {
+        // given
+        Map<String, Object> target = new HashMap<>();
+        target.put("tags", List.of("x".repeat(100), "y".repeat(100)));
+        target.put("basePrice", 10000);
+        Errors errors = new MapBindingResult(target, "eventDto");
+        errors.rejectValue("tags", "wrongTags");
+        errors.rejectValue("basePrice", "wrongValue");
+
+        // when
+        JsonNode json = serialize(new ErrorsSerializer(), errors);
+
+        // then
+        assertThat(json.get("errors").get(0).has("rejectValue")).isFalse();
+        assertThat(json.get("errors").get(1).get("rejectValue").asText()).isEqualTo("10000");
+    }
+
+    @Test
+    @DisplayName("에러는 maxErrors 개까지만 쓰고 나머지 개수를 errorsOmitted 로 알려준다")
+    public void capErrors() throws IOException {
+        // given
+        Map<String, Object> target = new HashMap<>();
+        target.put("name", "");
+        Errors errors = new MapBindingResult(target, "eventDto");
+        for (int i = 0; i < 100; i++) {
+            errors.rejectValue("name", "wrongValue" + i);
+        }
+        errors.reject("wrongPrices");
+
+        // when
+        JsonNode json = serialize(new ErrorsSerializer(3, 256), errors);
+
+        // then
+        assertThat(json.get("errors")).hasSize(3);
+        assertThat(json.get("errors").get(0).get("code").asText()).isEqualTo("wrongValue0");
+        assertThat(json.get("errorsOmitted").asInt()).isEqualTo(98);
+    }
+
+    @Test
+    @DisplayName("에러가 한도 안이면 errorsOmitted 를 쓰지 않는다")
+    public void noOmittedField() throws IOException {
+        // given
+        Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+        errors.reject("wrongPrices", "wrong prices");
+
+        // when
+        JsonNode json = serialize(new ErrorsSerializer(), errors);
+
+        // then
+        assertThat(json.get("errors")).hasSize(1);
+        assertThat(json.get("errors").get(0).get("code").asText()).isEqualTo("wrongPrices");
+        assertThat(json.has("errorsOmitted")).isFalse();
+    }
+
+    @Test
+    @DisplayName("쓰는 중에 난 IOException 은 삼키지 않고 던진다")
+    public void propagateIOException() throws IOException {
+        // given
+        Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+        errors.reject("wrongPrices");
+        JsonGenerator failing = new JsonGeneratorDelegate(objectMapper.getFactory().createGenerator(new StringWriter())) {
+            @Override
+            public void writeStringField(String fieldName, String value) throws IOException {
+                throw new IOException("broken pipe");
+            }
+        };
+        failing.writeStartObject();
+
+        // when // then
+        assertThatThrownBy(() -> new ErrorsSerializer().serialize(errors, failing, objectMapper.getSerializerProviderInstance()))
+                .isInstanceOf(IOException.class)
+                .hasMessage("broken pipe");
+    }
+
+    private JsonNode serialize(ErrorsSerializer serializer, Errors errors) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            serializer.serialize(errors, generator, objectMapper.getSerializerProviderInstance());
+            generator.writeEndObject();
+        }
+        return objectMapper.readTree(out.toString());
+    }
+}
@@ -0,0 +1,43 @@
+package shine.restapi.restapi.common;
+
+import shine.restapi.restapi.events.Event;
+import shine.restapi.restapi.events.EventStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 테스트에서 저장할 event. 테스트마다 다른 값만 빌더로 덮어쓴다.
+ */
+public final class EventFixtures {
+
+    public static final String LOCATION = "강남역 D2 스타텁 팩토리";
+
+    private EventFixtures() {
+    }
+
+    /**
+     * 내일 모집을 시작하는 DRAFT event.
+     */
+    public static Event.EventBuilder event(String name) {
+        return event(name, LocalDateTime.now().plusDays(1));
+    }
+
+    /**
+     * beginEnrollment 에 모집을 시작하고 하루 간격으로 모집 마감, 시작, 종료하는 DRAFT event.
+     */
+    public static Event.EventBuilder event(String name, LocalDateTime beginEnrollment) {
+        return Event.builder()
+                .name(name)
+                .description("test event")
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(beginEnrollment.plusDays(1))
+                .beginEventDateTime(beginEnrollment.plusDays(2))
+                .endEventDateTime(beginEnrollment.plusDays(3))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location(LOCATION)
+                .offline(true)
+                .eventStatus(EventStatus.DRAFT);
+    }
+}
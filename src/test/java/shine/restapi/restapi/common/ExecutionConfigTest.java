@@ -0,0 +1,57 @@
+package shine.restapi.restapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExecutionConfigTest {
+
+    @Test
+    @DisplayName("동시 처리 한도를 정하지 않으면 Tomcat 스레드 수보다 작게 잡는다")
+    public void maxConcurrent_Derived_From_Tomcat_Threads() {
+        // given
+        ExecutionConfig config = executionConfig("platform", 200, -1);
+
+        // when // then
+        assertThat(config.admissionControlInterceptor().getMaxConcurrent()).isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("virtual 모드에서 동시 처리 한도를 정하지 않으면 커넥션 풀 크기로 잡는다")
+    public void maxConcurrent_Virtual_Derived_From_Connection_Pool() {
+        // given
+        ExecutionConfig config = executionConfig("virtual", 200, -1);
+
+        // when // then
+        assertThat(config.admissionControlInterceptor().getMaxConcurrent()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("정한 동시 처리 한도는 그대로 쓴다")
+    public void maxConcurrent_Configured() {
+        // given
+        ExecutionConfig config = executionConfig("platform", 200, 16);
+
+        // when // then
+        assertThat(config.admissionControlInterceptor().getMaxConcurrent()).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("virtual thread 가 없는 JDK 에서 virtual 모드를 고르면 시작하지 않는다")
+    public void virtual_Unsupported_Jdk() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        assertThatThrownBy(ExecutionConfig::newVirtualThreadPerTaskExecutor)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("JDK 21");
+    }
+
+    private ExecutionConfig executionConfig(String mode, int tomcatThreads, int maxConcurrent) {
+        return new ExecutionConfig(mode, tomcatThreads, 10, maxConcurrent, Duration.ofMillis(50), Duration.ofSeconds(1));
+    }
+}
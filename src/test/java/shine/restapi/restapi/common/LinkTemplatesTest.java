@@ -0,0 +1,62 @@
+package shine.restapi.restapi.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LinkTemplatesTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("요청의 scheme, host, context path 가 링크에 반영된다")
+    public void currentRequestBase() {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setScheme("https");
+        request.setServerName("api.example.com");
+        request.setServerPort(443);
+        request.setContextPath("/ctx");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // when
+        LinkTemplates links = LinkTemplates.current();
+
+        // then
+        assertThat(links.base()).isEqualTo("https://api.example.com/ctx");
+        assertThat(links.index().getHref()).isEqualTo("https://api.example.com/ctx/api");
+        assertThat(links.index().getRel().value()).isEqualTo("index");
+    }
+
+    @Test
+    @DisplayName("같은 base URI 는 같은 템플릿을 재사용한다")
+    public void cachedPerBase() {
+        assertThat(LinkTemplates.forBase("http://localhost:8080"))
+                .isSameAs(LinkTemplates.forBase("http://localhost:8080"))
+                .isNotSameAs(LinkTemplates.forBase("http://other:8080"));
+    }
+
+    @Test
+    @DisplayName("기능별 링크는 base 마다 한 번만 만든다")
+    public void templatesPerBase() {
+        // given
+        LinkTemplates links = LinkTemplates.forBase("http://localhost:8080");
+
+        // when
+        String first = links.get(String.class, base -> base + "/api/things");
+        String second = links.get(String.class, base -> base + "/api/others");
+
+        // then
+        assertThat(first).isEqualTo("http://localhost:8080/api/things").isSameAs(second);
+        assertThat(LinkTemplates.forBase("http://other:8080").get(String.class, base -> base + "/api/things"))
+                .isEqualTo("http://other:8080/api/things");
+    }
+}
@@ -0,0 +1,158 @@
+package shine.restapi.restapi.common;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import shine.restapi.restapi.events.Event;
+import shine.restapi.restapi.events.EventDto;
+import shine.restapi.restapi.events.EventService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// primary 와 replica 를 서로 다른 H2 DB 로 띄우고, 복제는 replicate() 로 primary 를 replica 에 복사해서 흉내낸다.
+// 두 번째 replica 는 열리지 않는 주소라서 읽기에서 빠져야 한다.
+// 캐시를 끄고 DB 에서 읽는 경로만 본다.
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primarydb",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:primarydb",
+        "spring.cache.type=none",
+        "events.read-replicas.enabled=true",
+        "events.read-replicas.urls[0]=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "events.read-replicas.urls[1]=jdbc:h2:tcp://localhost:1/down",
+        "events.read-replicas.max-lag=1m",
+        "events.read-replicas.connection-timeout=250ms",
+        "events.rate-limit.api-keys=reader,writer"
+})
+public class ReadReplicaRoutingTests extends BaseControllerTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    ReadReplicas readReplicas;
+
+    @Autowired
+    HikariDataSource primaryDataSource;
+
+    @Autowired
+    ReplicaRoutingInterceptor replicaRoutingInterceptor;
+
+    @BeforeEach
+    public void setUp() {
+        replicate();
+    }
+
+    @Test
+    @DisplayName("읽기 요청은 replica 에서 읽는다")
+    public void getEvent_From_Replica() throws Exception {
+        // given
+        Event event = eventService.create(generateEvent());
+
+        // when & then
+        mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .header("X-API-Key", "reader"))
+                .andExpect(status().isNotFound());
+
+        replicate();
+        mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .header("X-API-Key", "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value(event.getName()));
+    }
+
+    @Test
+    @DisplayName("쓰기 요청은 primary 에서 처리하고, 쓴 클라이언트는 max-lag 동안 primary 에서 읽는다")
+    public void updateEvent_Reads_Own_Write() throws Exception {
+        // given
+        Event event = eventService.create(generateEvent());
+        EventDto eventDto = modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated On Primary");
+
+        // when
+        mockMvc.perform(put("/api/events/{id}", event.getId())
+                        .header("X-API-Key", "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto))
+                        .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .header("X-API-Key", "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Updated On Primary"));
+        mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .header("X-API-Key", "reader"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("커넥션을 얻지 못한 replica 는 빼고 남은 replica 에서 읽는다")
+    public void queryEvents_Ejects_Down_Replica() throws Exception {
+        // given
+        eventService.create(generateEvent());
+        replicate();
+
+        // when & then
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(get("/api/events")
+                            .header("X-API-Key", "reader"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("_embedded.eventList[0]").exists());
+        }
+        assertThat(readReplicas.getHealthyCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("쓰기 요청은 응답을 보내기 전에 기록되어서, 바로 이어진 읽기도 primary 에서 읽는다")
+    public void writer_Recorded_Before_Response() {
+        // given
+        MockHttpServletRequest write = new MockHttpServletRequest("PUT", "/api/events/1");
+        write.setRemoteAddr("10.0.0.23");
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/events/1");
+        read.setRemoteAddr("10.0.0.23");
+
+        try {
+            // when : 쓰기 요청이 아직 끝나지 않았다. (afterCompletion 전)
+            replicaRoutingInterceptor.preHandle(write, new MockHttpServletResponse(), null);
+            ReplicaRoutingDataSource.clear();
+            replicaRoutingInterceptor.preHandle(read, new MockHttpServletResponse(), null);
+
+            // then
+            assertThat(ReplicaRoutingDataSource.isReplicaAllowed()).isFalse();
+        } finally {
+            ReplicaRoutingDataSource.clear();
+        }
+    }
+
+    /**
+     * primary 의 스키마와 데이터를 replica 에 그대로 옮긴다.
+     */
+    private void replicate() {
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class);
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+
+    private Event generateEvent() {
+        return EventFixtures.event("replica event").build();
+    }
+}
@@ -0,0 +1,91 @@
+package shine.restapi.restapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import shine.restapi.restapi.events.Event;
+import shine.restapi.restapi.events.EventService;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 압축은 Tomcat 커넥터에서 일어나므로 MockMvc 가 아니라 실제 포트로 요청한다.
+// HttpClient 는 gzip 을 풀지 않으므로 Content-Encoding 을 그대로 볼 수 있다.
+// event 단건 응답도 압축 대상 크기가 되도록 min-response-size 를 낮춘다.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:compressiondb",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:compressiondb",
+        "server.compression.min-response-size=1B"
+})
+@ActiveProfiles("test")
+public class ResponseCompressionTests {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    EventService eventService;
+
+    @Test
+    @DisplayName("weak ETag 가 붙은 목록 응답은 gzip 으로 압축하는 테스트")
+    public void queryEvents_Gzip() throws Exception {
+        // given
+        for (int i = 0; i < 10; i++) {
+            eventService.create(generateEvent(i));
+        }
+
+        // when
+        HttpResponse<byte[]> response = get("/api/events?size=10");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(eTag -> assertThat(eTag).startsWith("W/\"p"));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).contains("\"eventList\"");
+        }
+    }
+
+    @Test
+    @DisplayName("strong ETag 가 붙은 event 단건 응답은 압축하지 않는 테스트")
+    public void getEvent_Strong_ETag_Not_Compressed() throws Exception {
+        // given
+        Event event = eventService.create(generateEvent(100));
+
+        // when
+        HttpResponse<byte[]> response = get("/api/events/" + event.getId());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).hasValue("\"0\"");
+        assertThat(new String(response.body(), StandardCharsets.UTF_8)).contains("\"compression event 100\"");
+    }
+
+    private HttpResponse<byte[]> get(String path) throws Exception {
+        return HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + port + path))
+                        .header(HttpHeaders.ACCEPT, MediaTypes.HAL_JSON_VALUE)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private Event generateEvent(int index) {
+        return EventFixtures.event("compression event " + index)
+                .description("압축 테스트에 쓰는 event 입니다. 목록 응답이 2KB 를 넘도록 설명을 조금 길게 적습니다.")
+                .build();
+    }
+}
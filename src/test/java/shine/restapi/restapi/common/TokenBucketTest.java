@@ -0,0 +1,76 @@
+package shine.restapi.restapi.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("가득 찬 버킷에서 capacity 만큼 꺼내고 나면 거절한다")
+    public void consumeUntilEmpty() {
+        // given
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        // when // then
+        assertThat(bucket.tryConsume(0)).isEqualTo(2);
+        assertThat(bucket.tryConsume(0)).isEqualTo(1);
+        assertThat(bucket.tryConsume(0)).isEqualTo(0);
+        assertThat(bucket.tryConsume(0)).isEqualTo(-SECOND);
+        assertThat(bucket.nanosUntilFull(0)).isEqualTo(3 * SECOND);
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 초당 refillPerSecond 개씩 다시 채워지고 capacity 를 넘지 않는다")
+    public void refill() {
+        // given
+        TokenBucket bucket = new TokenBucket(3, 2, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(0);
+        }
+
+        // when // then
+        assertThat(bucket.tryConsume(SECOND / 4)).isEqualTo(-SECOND / 4);
+        assertThat(bucket.tryConsume(SECOND)).isEqualTo(1);
+        assertThat(bucket.tryConsume(100 * SECOND)).isEqualTo(2);
+        assertThat(bucket.nanosUntilFull(100 * SECOND)).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 꺼내도 capacity 보다 많이 나가지 않는다")
+    public void concurrentConsume() throws InterruptedException {
+        // given
+        TokenBucket bucket = new TokenBucket(1000, 0.001, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryConsume(0) >= 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(granted.get()).isEqualTo(1000);
+    }
+}
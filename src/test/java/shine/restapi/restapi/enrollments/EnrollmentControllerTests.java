@@ -0,0 +1,212 @@
+package shine.restapi.restapi.enrollments;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import shine.restapi.restapi.common.BaseControllerTest;
+import shine.restapi.restapi.common.EventFixtures;
+import shine.restapi.restapi.events.Event;
+import shine.restapi.restapi.events.EventRepository;
+import shine.restapi.restapi.events.EventStatus;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.payload.PayloadDocumentation.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class EnrollmentControllerTests extends BaseControllerTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Test
+    @DisplayName("신청 기간 안에 참가 신청하면 201 과 신청 리소스를 받는 테스트")
+    public void enroll() throws Exception {
+        // given
+        Event event = generateEvent(EventStatus.PUBLISHED, 10, 0);
+
+        // when // then
+        mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(new EnrollmentDto("shine"))))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("eventId").value(event.getId()))
+                .andExpect(jsonPath("attendee").value("shine"))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.event").exists())
+                .andExpect(jsonPath("_links.enrollments").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("create-enrollment",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("event").description("link to the event"),
+                                linkWithRel("enrollments").description("link to seats of the event"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        requestFields(
+                                fieldWithPath("attendee").description("참가자")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("id").description("신청 id"),
+                                fieldWithPath("eventId").description("event id"),
+                                fieldWithPath("attendee").description("참가자"),
+                                fieldWithPath("enrolledAt").description("신청 시각")
+                        )))
+        ;
+
+        Event saved = eventRepository.findUncachedById(event.getId()).orElseThrow();
+        assertThat(saved.getEnrollmentCount()).isEqualTo(1);
+        assertThat(saved.getEventStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMEND);
+    }
+
+    @Test
+    @DisplayName("마지막 자리가 차면 CLOSED_ENROLLMENT 가 되고 다음 신청은 409 를 받는 테스트")
+    public void enroll_Full() throws Exception {
+        // given
+        Event event = generateEvent(EventStatus.PUBLISHED, 2, 0);
+        enroll(event, "a").andExpect(status().isCreated());
+        enroll(event, "b").andExpect(status().isCreated());
+
+        // when // then
+        enroll(event, "c")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("eventFull"));
+
+        mockMvc.perform(get("/api/events/{id}/enrollments", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("enrollmentCount").value(2))
+                .andExpect(jsonPath("remaining").value(0))
+                .andExpect(jsonPath("eventStatus").value("CLOSED_ENROLLMENT"))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.event").exists());
+        assertThat(enrollmentRepository.countByEventId(event.getId())).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 참가자가 두 번 신청하면 409 를 받고 자리는 한 번만 쓰는 테스트")
+    public void enroll_Duplicate() throws Exception {
+        // given
+        Event event = generateEvent(EventStatus.PUBLISHED, 10, 0);
+        enroll(event, "shine").andExpect(status().isCreated());
+
+        // when // then
+        enroll(event, "shine")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("alreadyEnrolled"));
+        assertThat(eventRepository.findSeatsById(event.getId()).orElseThrow().getEnrollmentCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("신청 기간이 아니거나 공개하지 않은 event 에 신청하면 409 를 받는 테스트")
+    public void enroll_Closed() throws Exception {
+        // given
+        Event draft = generateEvent(EventStatus.DRAFT, 10, 0);
+        Event notYet = generateEvent(EventStatus.PUBLISHED, 10, 1);
+
+        // when // then
+        enroll(draft, "shine")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("enrollmentClosed"));
+        enroll(notYet, "shine")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("enrollmentClosed"));
+        assertThat(enrollmentRepository.countByEventId(draft.getId())).isZero();
+        assertThat(enrollmentRepository.countByEventId(notYet.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("없는 event 에 신청하면 404, 참가자가 비어있으면 400 을 받는 테스트")
+    public void enroll_Bad_Request() throws Exception {
+        // given
+        Event event = generateEvent(EventStatus.PUBLISHED, 10, 0);
+
+        // when // then
+        mockMvc.perform(post("/api/events/{id}/enrollments", 987654)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EnrollmentDto("shine"))))
+                .andExpect(status().isNotFound());
+        enroll(event, " ")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("attendee"));
+    }
+
+    @Test
+    @DisplayName("마감된 event 의 신청을 취소하면 자리가 돌아오고 다시 신청을 받는 테스트")
+    public void cancel() throws Exception {
+        // given
+        Event event = generateEvent(EventStatus.PUBLISHED, 1, 0);
+        String body = enroll(event, "a")
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Number enrollmentId = JsonPath.read(body, "id");
+        assertThat(eventRepository.findSeatsById(event.getId()).orElseThrow().getEventStatus())
+                .isEqualTo(EventStatus.CLOSED_ENROLLMENT);
+
+        // when
+        mockMvc.perform(delete("/api/events/{id}/enrollments/{enrollmentId}", event.getId(), enrollmentId))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        // then
+        mockMvc.perform(delete("/api/events/{id}/enrollments/{enrollmentId}", event.getId(), enrollmentId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("eventStatus").value("BEGAN_ENROLLMEND"))
+                .andExpect(jsonPath("_links.enrollments").exists());
+        enroll(event, "b").andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("신청을 하나 조회하는 테스트")
+    public void getEnrollment() throws Exception {
+        // given
+        Event event = generateEvent(EventStatus.PUBLISHED, 10, 0);
+        String location = enroll(event, "shine")
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        // when // then
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("attendee").value("shine"))
+                .andExpect(jsonPath("_links.self.href").value(location));
+        mockMvc.perform(get("/api/events/{id}/enrollments/{enrollmentId}", event.getId() + 1000, 1))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions enroll(Event event, String attendee) throws Exception {
+        return mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .content(objectMapper.writeValueAsString(new EnrollmentDto(attendee))));
+    }
+
+    /**
+     * beginDays 가 0 이면 지금 신청 기간이 열려있는 event, 1 이면 내일부터 신청을 받는 event.
+     */
+    private Event generateEvent(EventStatus eventStatus, int limitOfEnrollment, int beginDays) {
+        Event event = EventFixtures.event("enrollment event", LocalDateTime.now().plusDays(beginDays).minusHours(1))
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(eventStatus)
+                .build();
+        return eventRepository.save(event);
+    }
+}
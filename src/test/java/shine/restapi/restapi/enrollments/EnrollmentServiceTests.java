@@ -0,0 +1,166 @@
+package shine.restapi.restapi.enrollments;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import shine.restapi.restapi.common.EventFixtures;
+import shine.restapi.restapi.events.Event;
+import shine.restapi.restapi.events.EventRepository;
+import shine.restapi.restapi.events.EventStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 스레드가 한 event 에 동시에 신청해도 limitOfEnrollment 를 넘지 않는지 확인한다.
+ */
+// 다른 테스트 컨텍스트와 testdb 를 같이 쓰면 sequence 캐시가 겹치므로 따로 DB 를 쓴다.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:enrollmentdb",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:enrollmentdb"
+})
+@ActiveProfiles("test")
+public class EnrollmentServiceTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Test
+    @DisplayName("2000명이 동시에 100자리에 신청하면 정확히 100명만 들어가는 테스트")
+    public void enroll_Concurrently() throws Exception {
+        // given
+        Event event = generateEvent(100);
+        int attendees = 2000;
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        // when
+        runConcurrently(attendees, i -> {
+            try {
+                enrollmentService.enroll(event.getId(), "attendee-" + i);
+                enrolled.incrementAndGet();
+            } catch (EnrollmentException e) {
+                if (e.getReason() == EnrollmentException.Reason.EVENT_FULL) {
+                    full.incrementAndGet();
+                } else {
+                    unexpected.add(e);
+                }
+            } catch (RuntimeException e) {
+                unexpected.add(e);
+            }
+        });
+
+        // then
+        assertThat(unexpected).isEmpty();
+        assertThat(enrolled.get()).isEqualTo(100);
+        assertThat(full.get()).isEqualTo(attendees - 100);
+        assertThat(enrollmentRepository.countByEventId(event.getId())).isEqualTo(100);
+        Event saved = eventRepository.findUncachedById(event.getId()).orElseThrow();
+        assertThat(saved.getEnrollmentCount()).isEqualTo(100);
+        assertThat(saved.getEventStatus()).isEqualTo(EventStatus.CLOSED_ENROLLMENT);
+    }
+
+    @Test
+    @DisplayName("같은 참가자가 동시에 여러 번 신청해도 한 번만 들어가는 테스트")
+    public void enroll_Same_Attendee_Concurrently() throws Exception {
+        // given
+        Event event = generateEvent(100);
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger duplicated = new AtomicInteger();
+
+        // when
+        runConcurrently(THREADS * 4, i -> {
+            try {
+                enrollmentService.enroll(event.getId(), "shine");
+                enrolled.incrementAndGet();
+            } catch (EnrollmentException e) {
+                if (e.getReason() == EnrollmentException.Reason.ALREADY_ENROLLED) {
+                    duplicated.incrementAndGet();
+                }
+            }
+        });
+
+        // then
+        assertThat(enrolled.get()).isEqualTo(1);
+        assertThat(duplicated.get()).isEqualTo(THREADS * 4 - 1);
+        assertThat(eventRepository.findSeatsById(event.getId()).orElseThrow().getEnrollmentCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("신청과 취소가 섞여도 신청 수가 실제 신청 행 수와 같은 테스트")
+    public void enroll_And_Cancel_Concurrently() throws Exception {
+        // given
+        Event event = generateEvent(50);
+        List<Long> enrollmentIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            enrollmentIds.add(enrollmentService.enroll(event.getId(), "early-" + i).getEnrollment().getId());
+        }
+
+        // when
+        runConcurrently(400, i -> {
+            try {
+                if (i % 2 == 0 && i / 2 < enrollmentIds.size()) {
+                    enrollmentService.cancel(event.getId(), enrollmentIds.get(i / 2));
+                } else {
+                    enrollmentService.enroll(event.getId(), "late-" + i);
+                }
+            } catch (EnrollmentException ignored) {
+            }
+        });
+
+        // then
+        Event saved = eventRepository.findUncachedById(event.getId()).orElseThrow();
+        assertThat(saved.getEnrollmentCount()).isEqualTo(enrollmentRepository.countByEventId(event.getId()));
+        assertThat(saved.getEnrollmentCount()).isLessThanOrEqualTo(50);
+    }
+
+    private void runConcurrently(int tasks, IntTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(index);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private interface IntTask {
+        void run(int index);
+    }
+
+    private Event generateEvent(int limitOfEnrollment) {
+        Event event = EventFixtures.event("concurrent enrollment", LocalDateTime.now().minusHours(1))
+                .basePrice(0)
+                .maxPrice(0)
+                .free(true)
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,66 @@
+package shine.restapi.restapi.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventChangeBufferTest {
+
+    @Test
+    @DisplayName("커서 다음부터 limit 개를 순서대로 읽는다")
+    public void after() {
+        // given
+        EventChangeBuffer buffer = new EventChangeBuffer(4, 10);
+        buffer.append(messages(11, 13));
+
+        // when // then
+        assertThat(buffer.head()).isEqualTo(13);
+        assertThat(positions(buffer.after(10, 100))).containsExactly(11L, 12L, 13L);
+        assertThat(positions(buffer.after(11, 1))).containsExactly(12L);
+        assertThat(buffer.after(13, 100)).isEmpty();
+        assertThat(buffer.after(20, 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("capacity 를 넘겨 밀려난 커서는 null 을 돌려준다")
+    public void after_Overwritten() {
+        // given
+        EventChangeBuffer buffer = new EventChangeBuffer(4, 0);
+        buffer.append(messages(1, 6));
+
+        // when // then
+        assertThat(positions(buffer.after(2, 100))).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(buffer.after(1, 100)).isNull();
+    }
+
+    @Test
+    @DisplayName("position 이 이어지지 않으면 새로 시작한다")
+    public void append_Gap() {
+        // given
+        EventChangeBuffer buffer = new EventChangeBuffer(4, 0);
+        buffer.append(messages(1, 2));
+
+        // when
+        buffer.append(messages(5, 6));
+
+        // then
+        assertThat(positions(buffer.after(4, 100))).containsExactly(5L, 6L);
+        assertThat(buffer.after(2, 100)).isNull();
+    }
+
+    private static List<EventChangeMessage> messages(long from, long to) {
+        return LongStream.rangeClosed(from, to)
+                .mapToObj(p -> new EventChangeMessage(p, (int) p, EventChange.Type.UPDATED, LocalDateTime.now()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> positions(List<EventChangeMessage> messages) {
+        return messages.stream().map(EventChangeMessage::getPosition).collect(Collectors.toList());
+    }
+}
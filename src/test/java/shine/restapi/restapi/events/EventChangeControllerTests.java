@@ -0,0 +1,221 @@
+package shine.restapi.restapi.events;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import shine.restapi.restapi.common.BaseControllerTest;
+import shine.restapi.restapi.common.EventFixtures;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.relaxedResponseFields;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 다른 테스트 컨텍스트와 testdb 를 같이 쓰면 sequence 캐시가 겹치므로 따로 DB 를 쓴다.
+// 버퍼를 작게 잡아서 버퍼에서 밀려난 커서가 테이블에서 읽히는 경로도 지나가게 한다.
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changesdb",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:changesdb",
+        "events.changes.enabled=true",
+        "events.changes.buffer-size=2",
+        "events.changes.poll-interval=50ms"
+})
+public class EventChangeControllerTests extends BaseControllerTest {
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventChangeFeed eventChangeFeed;
+
+    @Autowired
+    EventChangeRepository eventChangeRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("커서 뒤에 생긴 변경 내역을 long-poll 로 받는 테스트")
+    public void pollChanges() throws Exception {
+        // given
+        long after = eventChangeFeed.head();
+        Event event = eventService.create(generateEvent());
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/events/changes")
+                        .param("after", String.valueOf(after))
+                        .param("limit", "100")
+                        .param("wait", "5")
+                        .accept(MediaTypes.HAL_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("position").value(after + 1))
+                .andExpect(jsonPath("_embedded.changes[0].position").value(after + 1))
+                .andExpect(jsonPath("_embedded.changes[0].eventId").value(event.getId()))
+                .andExpect(jsonPath("_embedded.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next.href").value("http://localhost:8080/api/events/changes?after=" + (after + 1)))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-event-changes",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("next").description("link to the next poll"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        requestParameters(
+                                parameterWithName("after").description("이 position 다음의 변경부터 받는다. 없으면 지금부터"),
+                                parameterWithName("limit").description("한 번에 받을 최대 개수 (최대 500)"),
+                                parameterWithName("wait").description("변경이 없을 때 기다릴 초 (최대 60, 0 이면 기다리지 않는다)")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("position").description("다음 요청에 쓸 커서"),
+                                fieldWithPath("_embedded.changes[].position").description("변경 position"),
+                                fieldWithPath("_embedded.changes[].eventId").description("바뀐 event id"),
+                                fieldWithPath("_embedded.changes[].type").description("CREATED, UPDATED"),
+                                fieldWithPath("_embedded.changes[].changedAt").description("바뀐 시각")
+                        )))
+        ;
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 기다렸다가 변경이 생기는 즉시 응답하는 테스트")
+    public void pollChanges_Wait() throws Exception {
+        // given
+        long after = eventChangeFeed.head();
+        MvcResult result = mockMvc.perform(get("/api/events/changes")
+                        .param("after", String.valueOf(after))
+                        .param("wait", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        Thread.sleep(100);
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+
+        // when
+        Event event = eventService.create(generateEvent());
+        event.setName("updated");
+        eventService.update(event);
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.changes[0].eventId").value(event.getId()));
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 빈 목록과 같은 커서를 돌려주는 테스트")
+    public void pollChanges_Empty() throws Exception {
+        // given
+        long after = eventChangeFeed.head();
+
+        // when // then
+        mockMvc.perform(get("/api/events/changes")
+                        .param("wait", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("position").value(after))
+                .andExpect(jsonPath("_embedded.changes").isEmpty());
+    }
+
+    @Test
+    @DisplayName("버퍼에서 밀려난 커서는 테이블에서 읽고, 보관 기간이 지난 커서는 410 을 받는 테스트")
+    public void pollChanges_Expired() throws Exception {
+        // given
+        long after = eventChangeFeed.head();
+        Event first = eventService.create(generateEvent());
+        eventService.create(generateEvent());
+        eventService.create(generateEvent());
+        awaitHead(after + 3);
+
+        // when // then
+        mockMvc.perform(get("/api/events/changes")
+                        .param("after", String.valueOf(after))
+                        .param("wait", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.changes.length()").value(3))
+                .andExpect(jsonPath("_embedded.changes[0].eventId").value(first.getId()));
+
+        transactionTemplate.execute(status -> eventChangeRepository.deleteSequencedBefore(LocalDateTime.now().plusDays(1)));
+        mockMvc.perform(get("/api/events/changes")
+                        .param("after", String.valueOf(after)))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("errors[0].code").value("cursorExpired"));
+    }
+
+    @Test
+    @DisplayName("음수 커서는 400 을 받는 테스트")
+    public void pollChanges_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/events/changes")
+                        .param("after", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongValue"));
+    }
+
+    @Test
+    @DisplayName("SSE 로 Last-Event-ID 다음의 변경과 이후 변경을 받는 테스트")
+    public void streamChanges() throws Exception {
+        // given
+        long after = eventChangeFeed.head();
+        Event before = eventService.create(generateEvent());
+        awaitHead(after + 1);
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/events/changes")
+                        .header("Last-Event-ID", String.valueOf(after))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        Event later = eventService.create(generateEvent());
+
+        // then
+        String body = awaitContent(result, "\"eventId\":" + later.getId());
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(body).contains("event:changes");
+        assertThat(body).contains("id:" + (after + 1));
+        assertThat(body).contains("\"eventId\":" + before.getId());
+        String lastData = body.substring(body.lastIndexOf("data:") + "data:".length()).trim();
+        assertThat(JsonPath.<Integer>read(lastData, "$[-1].eventId")).isEqualTo(later.getId());
+    }
+
+    private void awaitHead(long position) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (eventChangeFeed.head() < position && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(eventChangeFeed.head()).isGreaterThanOrEqualTo(position);
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        assertThat(body).contains(expected);
+        return body;
+    }
+
+    private Event generateEvent() {
+        return EventFixtures.event("change event").build();
+    }
+}
@@ -1,17 +1,47 @@
 package shine.restapi.restapi.events;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import shine.restapi.restapi.common.AdmissionControlInterceptor;
 import shine.restapi.restapi.common.BaseControllerTest;
+import shine.restapi.restapi.common.BinaryFormatConfig;
+import shine.restapi.restapi.common.RateLimitInterceptor;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
@@ -27,6 +57,21 @@ public class EventControllerTests extends BaseControllerTest {
     @Autowired
     EventRepository eventRepository;
 
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     @DisplayName("정상적으로 이벤트 생성하는 테스트")
     public void createEvent() throws Exception {
@@ -208,6 +253,182 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 다시 보내면 처음 응답을 돌려주고 event 를 다시 만들지 않는다")
+    public void createEvent_Idempotent_Retry() throws Exception {
+        // given
+        EventDto eventDto = generateEventDto(701);
+        String first = mockMvc.perform(post("/api/events")
+                        .header(EventController.IDEMPOTENCY_KEY, "create-701")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(EventIdempotency.REPLAYED))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        // when & then
+        mockMvc.perform(post("/api/events")
+                        .header(EventController.IDEMPOTENCY_KEY, "create-701")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, first))
+                .andExpect(header().string(EventIdempotency.REPLAYED, "true"))
+                .andExpect(jsonPath("name").value("event 701"))
+                .andExpect(jsonPath("_links.self.href").value(first))
+                .andDo(document("create-event-idempotent",
+                        requestHeaders(
+                                headerWithName(EventController.IDEMPOTENCY_KEY).description("재시도해도 한 번만 생성할 요청의 키 (최대 128자)"),
+                                headerWithName(HttpHeaders.ACCEPT).description("accept header"),
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("content type")
+                        ),
+                        responseHeaders(
+                                headerWithName(HttpHeaders.LOCATION).description("처음 요청에서 만든 event"),
+                                headerWithName(EventIdempotency.REPLAYED).description("처음 응답을 다시 돌려준 경우 true")
+                        )
+                ));
+        assertThat(countEventsNamed("event 701")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 동시에 보낸 요청은 처음 요청의 결과를 기다려서 같은 응답을 받는다")
+    public void createEvent_Idempotent_Concurrent() throws Exception {
+        // given
+        String content = objectMapper.writeValueAsString(generateEventDto(702));
+        int requests = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            responses.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(post("/api/events")
+                                .header(EventController.IDEMPOTENCY_KEY, "create-702")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaTypes.HAL_JSON)
+                                .content(content))
+                        .andReturn().getResponse();
+            }));
+        }
+        start.countDown();
+
+        // then
+        List<String> locations = new ArrayList<>();
+        for (Future<MockHttpServletResponse> response : responses) {
+            assertThat(response.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+            locations.add(response.get().getHeader(HttpHeaders.LOCATION));
+        }
+        executor.shutdown();
+        assertThat(locations).containsOnly(locations.get(0));
+        assertThat(countEventsNamed("event 702")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("메모리에 없는 Idempotency-Key 도 DB 에 남은 키로 처음 만든 event 를 돌려준다")
+    public void createEvent_Idempotent_From_Database() throws Exception {
+        // given
+        EventDto eventDto = generateEventDto(703);
+        String requestHash = EventIdempotency.hash(objectMapper.writeValueAsBytes(eventDto));
+        Event event = eventService.create(modelMapper.map(eventDto, Event.class), EventIdempotency.key("ip:127.0.0.1", "create-703"), requestHash, Duration.ofHours(1));
+
+        // when & then
+        mockMvc.perform(post("/api/events")
+                        .header(EventController.IDEMPOTENCY_KEY, "create-703")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost:8080/api/events/" + event.getId()))
+                .andExpect(header().string(EventIdempotency.REPLAYED, "true"))
+                .andExpect(jsonPath("id").value(event.getId()));
+        assertThat(countEventsNamed("event 703")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 다른 내용을 보내면 422 를 받는다")
+    public void createEvent_Idempotency_Key_Reused() throws Exception {
+        // given
+        mockMvc.perform(post("/api/events")
+                        .header(EventController.IDEMPOTENCY_KEY, "create-704")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(generateEventDto(704))))
+                .andExpect(status().isCreated());
+
+        // when & then
+        mockMvc.perform(post("/api/events")
+                        .header(EventController.IDEMPOTENCY_KEY, "create-704")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(generateEventDto(705))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("errors[0].code").value("idempotencyKeyReused"));
+        assertThat(countEventsNamed("event 705")).isZero();
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 는 API 키 대신 클라이언트 구분의 해시로 저장한다")
+    public void createEvent_Idempotency_Key_Stores_Client_Hash() throws Exception {
+        // when
+        mockMvc.perform(post("/api/events")
+                        .header("X-API-Key", "test-client")
+                        .header(EventController.IDEMPOTENCY_KEY, "create-707")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(generateEventDto(707))))
+                .andExpect(status().isCreated());
+
+        // then
+        String key = EventIdempotency.key("key:test-client", "create-707");
+        assertThat(idempotencyKeyRepository.findById(key)).isPresent();
+        assertThat(idempotencyKeyRepository.findAll())
+                .extracting(IdempotencyKey::getKey)
+                .noneMatch(stored -> stored.contains("test-client"));
+    }
+
+    @Test
+    @DisplayName("128자를 넘는 Idempotency-Key 는 400 을 받는다")
+    public void createEvent_Idempotency_Key_Too_Long() throws Exception {
+        mockMvc.perform(post("/api/events")
+                        .header(EventController.IDEMPOTENCY_KEY, "k".repeat(129))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(generateEventDto(708))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongIdempotencyKey"));
+        assertThat(countEventsNamed("event 708")).isZero();
+    }
+
+    @Test
+    @DisplayName("DB 에 남은 키의 event 가 지워졌으면 404 를 기억하지 않고 다음 재시도에서 다시 만든다")
+    public void createEvent_Idempotent_Deleted_Event_Not_Remembered() throws Exception {
+        // given
+        EventDto eventDto = generateEventDto(706);
+        String requestHash = EventIdempotency.hash(objectMapper.writeValueAsBytes(eventDto));
+        Event event = eventService.create(modelMapper.map(eventDto, Event.class), EventIdempotency.key("ip:127.0.0.1", "create-706"), requestHash, Duration.ofHours(1));
+        eventRepository.deleteById(event.getId());
+        mockMvc.perform(post("/api/events")
+                        .header(EventController.IDEMPOTENCY_KEY, "create-706")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isNotFound());
+
+        // when
+        idempotencyKeyRepository.deleteById(EventIdempotency.key("ip:127.0.0.1", "create-706"));
+
+        // then
+        mockMvc.perform(post("/api/events")
+                        .header(EventController.IDEMPOTENCY_KEY, "create-706")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(EventIdempotency.REPLAYED));
+        assertThat(countEventsNamed("event 706")).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("비지니스 로직 테스트")
     public void logicTest() throws Exception {
@@ -263,6 +484,385 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @DisplayName("커서 기반으로 event 목록을 조회하면 next, prev 링크로 이동할 수 있다")
+    public void scrollEvents() throws Exception {
+        // given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // when
+        String firstPage = mockMvc.perform(get("/api/events")
+                        .param("after", "")
+                        .param("size", "10")
+                        .param("sort", "name,DESC"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(firstPage, "_links.next.href");
+        String lastNameOfFirstPage = JsonPath.read(firstPage, "_embedded.eventList[9].name");
+
+        // then
+        String secondPage = mockMvc.perform(get(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.prev").exists())
+                .andReturn().getResponse().getContentAsString();
+        String firstNameOfSecondPage = JsonPath.read(secondPage, "_embedded.eventList[0].name");
+        assertThat(firstNameOfSecondPage).isLessThanOrEqualTo(lastNameOfFirstPage);
+
+        String prev = JsonPath.read(secondPage, "_links.prev.href");
+        mockMvc.perform(get(prev))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[9].name").value(lastNameOfFirstPage));
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 조회하면 400 발생")
+    public void scrollEvents_Bad_Cursor() throws Exception {
+        mockMvc.perform(get("/api/events").param("after", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongCursor"))
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @DisplayName("커서 조회에 정렬 조건이 둘 이상이면 400 발생")
+    public void scrollEvents_Multiple_Sort_Orders() throws Exception {
+        mockMvc.perform(get("/api/events")
+                        .param("after", "")
+                        .param("sort", "name,asc")
+                        .param("sort", "basePrice,desc"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongCursor"));
+    }
+
+    @Test
+    @DisplayName("상태, 무료 여부, 가격, 장소 조건으로 event 목록을 검색하기")
+    public void queryEvents_Search() throws Exception {
+        // given
+        IntStream.range(0, 10).forEach(i -> generateEvent(i, "검색역 " + i, i % 2 == 0 ? 0 : 100 * i,
+                i < 6 ? EventStatus.PUBLISHED : EventStatus.DRAFT));
+
+        // when & then
+        mockMvc.perform(get("/api/events")
+                        .param("location", "검색역")
+                        .param("eventStatus", "PUBLISHED")
+                        .param("free", "false")
+                        .param("priceFrom", "200")
+                        .param("priceTo", "500")
+                        .param("sort", "basePrice,ASC"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(2))
+                .andExpect(jsonPath("_embedded.eventList[0].location").value("검색역 3"))
+                .andExpect(jsonPath("_embedded.eventList[1].location").value("검색역 5"));
+    }
+
+    @Test
+    @DisplayName("등록 마감 일시와 이벤트 종료 일시 범위로 event 목록을 검색하기")
+    public void queryEvents_Search_Close_Enrollment_End_Event() throws Exception {
+        // given
+        IntStream.range(0, 6).forEach(i -> {
+            Event event = generateEvent(i, "마감역 " + i, 100, EventStatus.PUBLISHED);
+            event.setCloseEnrollmentDateTime(LocalDateTime.of(2018, 12, 1 + i, 0, 0));
+            event.setEndEventDateTime(LocalDateTime.of(2018, 12, 10 + i, 0, 0));
+            eventRepository.save(event);
+        });
+
+        // when
+        String firstPage = mockMvc.perform(get("/api/events")
+                        .param("after", "")
+                        .param("size", "2")
+                        .param("sort", "endEventDateTime,ASC")
+                        .param("location", "마감역")
+                        .param("closeEnrollmentTo", "2018-12-04T00:00:00")
+                        .param("endEventFrom", "2018-12-11T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].location").value("마감역 1"))
+                .andExpect(jsonPath("_embedded.eventList[1].location").value("마감역 2"))
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(firstPage, "_links.next.href");
+
+        // then
+        assertThat(next).contains("closeEnrollmentTo=2018-12-04T00:00").contains("endEventFrom=2018-12-11T00:00");
+        mockMvc.perform(get(URI.create(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].location").value("마감역 3"))
+                .andExpect(jsonPath("_links.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("정렬 값이 null 인 event 도 커서로 넘겨 가며 모두 조회된다")
+    public void scrollEvents_Null_Sort_Value() throws Exception {
+        // given
+        List<Integer> ids = Stream.of("b", null, "a", null, "c").map(name -> {
+            Event event = generateEvent(0, "널역", 100, EventStatus.DRAFT);
+            event.setName(name);
+            return eventRepository.save(event).getId();
+        }).collect(Collectors.toList());
+
+        // when & then
+        try {
+            assertThat(scrollIds("name,ASC"))
+                    .containsExactly(ids.get(2), ids.get(0), ids.get(4), ids.get(1), ids.get(3));
+            assertThat(scrollIds("name,DESC"))
+                    .containsExactly(ids.get(3), ids.get(1), ids.get(4), ids.get(0), ids.get(2));
+        } finally {
+            // 이름이 null 인 event 가 다른 테스트의 조회에 섞이지 않게 지운다.
+            eventRepository.deleteAllById(ids);
+        }
+    }
+
+    /**
+     * location 이 "널역" 인 event 를 2개씩 next 링크를 따라가며 모두 읽는다. 마지막 페이지의 prev 링크도 확인한다.
+     */
+    private List<Integer> scrollIds(String sort) throws Exception {
+        List<List<Integer>> pages = new ArrayList<>();
+        String prev = null;
+        MockHttpServletRequestBuilder request = get("/api/events")
+                .param("after", "")
+                .param("size", "2")
+                .param("sort", sort)
+                .param("location", "널역");
+        while (request != null) {
+            String page = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            pages.add(JsonPath.read(page, "_embedded.eventList[*].id"));
+            Map<String, Map<String, String>> links = JsonPath.read(page, "_links");
+            prev = links.containsKey("prev") ? links.get("prev").get("href") : null;
+            request = links.containsKey("next") ? get(URI.create(links.get("next").get("href"))) : null;
+        }
+
+        String previousPage = mockMvc.perform(get(URI.create(prev)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(JsonPath.<List<Integer>>read(previousPage, "_embedded.eventList[*].id"))
+                .isEqualTo(pages.get(pages.size() - 2));
+        return pages.stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("가격 범위의 시작이 끝보다 크면 400 발생")
+    public void queryEvents_Reversed_Price_Range_Bad_Request() throws Exception {
+        mockMvc.perform(get("/api/events")
+                        .param("priceFrom", "500")
+                        .param("priceTo", "200"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("priceTo"))
+                .andExpect(jsonPath("errors[0].code").value("wrongRange"))
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @DisplayName("날짜 범위의 시작이 끝보다 뒤면 커서 조회도 400 발생")
+    public void scrollEvents_Reversed_Date_Range_Bad_Request() throws Exception {
+        mockMvc.perform(get("/api/events")
+                        .param("after", "")
+                        .param("endEventFrom", "2018-12-11T00:00:00")
+                        .param("endEventTo", "2018-12-10T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("endEventTo"))
+                .andExpect(jsonPath("errors[0].code").value("wrongRange"));
+    }
+
+    @Test
+    @DisplayName("검색 조건을 걸고 커서로 조회하면 next 링크에도 조건이 유지된다")
+    public void scrollEvents_Search() throws Exception {
+        // given
+        IntStream.range(0, 6).forEach(i -> generateEvent(i, "scroll%_town " + i, 0, EventStatus.DRAFT));
+        IntStream.range(0, 6).forEach(i -> generateEvent(i, "scroll_down " + i, 0, EventStatus.DRAFT));
+
+        // when
+        String firstPage = mockMvc.perform(get("/api/events")
+                        .param("after", "")
+                        .param("size", "4")
+                        .param("location", "scroll%_town"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(4))
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(firstPage, "_links.next.href");
+
+        // then
+        assertThat(next).contains("location=scroll%25_town");
+        mockMvc.perform(get(URI.create(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(2))
+                .andExpect(jsonPath("_embedded.eventList[*].location",
+                        everyItem(startsWith("scroll%_town"))))
+                .andExpect(jsonPath("_links.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("이름, 장소, 설명으로 전문 검색하면 관련도 순으로 조회된다")
+    public void searchEvents() throws Exception {
+        // given
+        Event inDescription = generateEvent(300, "판교역 카카오", 100, EventStatus.DRAFT);
+        inDescription.setDescription("Lucene 색인 구조를 공부합니다");
+        eventRepository.save(inDescription);
+        Event inName = generateEvent(301);
+        inName.setName("Lucene 스터디");
+        eventRepository.save(inName);
+
+        // when & then
+        mockMvc.perform(get("/api/events/search")
+                        .param("q", "lucene")
+                        .param("size", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(2))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(inName.getId()))
+                .andExpect(jsonPath("_embedded.eventList[1].id").value(inDescription.getId()))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists());
+        mockMvc.perform(get("/api/events/search").param("q", "판교"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(inDescription.getId()));
+    }
+
+    @Test
+    @DisplayName("이벤트를 수정하면 검색 색인도 바로 갱신된다")
+    public void searchEvents_After_Update() throws Exception {
+        // given
+        Event event = generateEvent(302);
+        EventDto eventDto = modelMapper.map(event, EventDto.class);
+        eventDto.setName("Elasticsearch 대신 임베디드 색인");
+
+        // when
+        mockMvc.perform(put("/api/events/{id}", event.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get("/api/events/search").param("q", "임베디드 elasticsearch"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(event.getId()));
+    }
+
+    @Test
+    @DisplayName("검색어 없이 검색하면 400 발생")
+    public void searchEvents_Empty_Query() throws Exception {
+        mockMvc.perform(get("/api/events/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("emptyQuery"));
+    }
+
+    @Test
+    @DisplayName("여러 이벤트를 한 번에 생성하기")
+    public void createEvents() throws Exception {
+        // given
+        List<EventDto> eventDtos = IntStream.range(0, 3).mapToObj(this::generateEventDto).collect(Collectors.toList());
+
+        // when & then
+        mockMvc.perform(post("/api/events/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(eventDtos)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(3))
+                .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].offline").value(true))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andExpect(jsonPath("_links.profile").exists());
+    }
+
+    @Test
+    @DisplayName("여러 이벤트 중 잘못된 항목이 있으면 항목별 에러가 발생하고 아무것도 저장하지 않는다")
+    public void createEvents_Bad_Request() throws Exception {
+        // given
+        long before = eventRepository.count();
+        List<EventDto> eventDtos = IntStream.range(0, 3).mapToObj(this::generateEventDto).collect(Collectors.toList());
+        eventDtos.get(1).setBasePrice(10000);
+        eventDtos.get(2).setName("");
+
+        // when & then
+        mockMvc.perform(post("/api/events/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(eventDtos)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("_embedded.errors.length()").value(2))
+                .andExpect(jsonPath("_embedded.errors[0].errors[0].objectName").value("eventDtos[1]"))
+                .andExpect(jsonPath("_embedded.errors[0].errors[0].code").value("wrongPrices"))
+                .andExpect(jsonPath("_embedded.errors[1].errors[0].field").value("name"))
+                .andExpect(jsonPath("_embedded.errors[1]._links.index").exists())
+                .andExpect(jsonPath("_links.index").exists());
+        assertThat(eventRepository.count()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("잘못된 항목이 많으면 정해진 개수까지만 에러를 돌려준다")
+    public void createEvents_Too_Many_Errors() throws Exception {
+        // given
+        List<EventDto> eventDtos = IntStream.range(0, 100).mapToObj(this::generateEventDto).collect(Collectors.toList());
+        eventDtos.forEach(eventDto -> eventDto.setBasePrice(10000));
+
+        // when & then
+        mockMvc.perform(post("/api/events/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(eventDtos)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("_embedded.errors.length()").value(21))
+                .andExpect(jsonPath("_embedded.errors[19].errors[0].objectName").value("eventDtos[19]"))
+                .andExpect(jsonPath("_embedded.errors[20].errors[0].code").value("tooManyErrors"));
+    }
+
+    @Test
+    @DisplayName("전체 event 를 NDJSON 으로 내보내기")
+    public void exportEvents_Ndjson() throws Exception {
+        // given
+        IntStream.range(0, 5).forEach(this::generateEvent);
+
+        // when
+        String body = mockMvc.perform(get("/api/events/export")
+                        .accept(EventController.NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, EventController.NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSizeGreaterThanOrEqualTo(5);
+        for (String line : lines) {
+            assertThat(objectMapper.readValue(line, Event.class).getId()).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("전체 event 를 HAL 문서로 내보내기")
+    public void exportEvents_Hal() throws Exception {
+        // given
+        IntStream.range(0, 5).forEach(this::generateEvent);
+
+        // when & then
+        mockMvc.perform(get("/api/events/export")
+                        .accept(MediaTypes.HAL_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaTypes.HAL_JSON_VALUE))
+                .andExpect(jsonPath("_embedded.eventList[0].name").exists())
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self.href").exists())
+                .andExpect(jsonPath("_links.self").exists());
+    }
+
     @Test
     @DisplayName("Event 단건 조회하기")
     public void getEventTest() throws Exception {
@@ -316,6 +916,124 @@ public class EventControllerTests extends BaseControllerTest {
                 .andExpect(jsonPath("_links.self").exists());
     }
 
+    @Test
+    @DisplayName("캐시된 이벤트를 수정하면 다음 조회에서 수정된 값이 보인다")
+    public void updateEvent_Evicts_Cache() throws Exception {
+        // given
+        Event event = generateEvent(201);
+        mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("name").value("event 201"));
+        assertThat(cacheManager.getCache(EventRepository.EVENTS_CACHE).get(event.getId())).isNotNull();
+
+        EventDto eventDto = modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated Cached Event");
+
+        // when
+        mockMvc.perform(put("/api/events/{id}", event.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto))
+                        .accept(MediaTypes.HAL_JSON_VALUE))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Updated Cached Event"));
+    }
+
+    @Test
+    @DisplayName("수정이 커밋된 뒤에 이전 값이 캐시에 다시 들어가도 잠시 뒤에 한 번 더 지운다")
+    public void updateEvent_Re_Evicts_Stale_Cache() throws Exception {
+        // given
+        Event event = generateEvent(202);
+        EventDto eventDto = modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated Stale Event");
+        mockMvc.perform(put("/api/events/{id}", event.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto))
+                        .accept(MediaTypes.HAL_JSON_VALUE))
+                .andExpect(status().isOk());
+
+        // when : 커밋 전에 이전 행을 읽은 요청이 evict 뒤에 캐시에 넣는다.
+        Cache events = cacheManager.getCache(EventRepository.EVENTS_CACHE);
+        events.put(event.getId(), event);
+
+        // then
+        long deadline = System.currentTimeMillis() + 5000;
+        while (events.get(event.getId()) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(events.get(event.getId())).isNull();
+        mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("name").value("Updated Stale Event"));
+    }
+
+    @Test
+    @DisplayName("ETag 가 같으면 304 를 응답한다")
+    public void getEvent_Not_Modified() throws Exception {
+        // given
+        Event event = generateEvent(202);
+        String eTag = mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when & then
+        mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("목록 조회도 내용이 바뀌지 않았으면 304 를 응답한다")
+    public void queryEvents_Not_Modified() throws Exception {
+        // given
+        IntStream.range(0, 3).forEach(this::generateEvent);
+        String eTag = mockMvc.perform(get("/api/events").param("page", "0").param("size", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when & then
+        mockMvc.perform(get("/api/events").param("page", "0").param("size", "5")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("If-Match 가 현재 버전과 다르면 수정하지 않고 412 를 응답한다")
+    public void updateEvent_Precondition_Failed() throws Exception {
+        // given
+        Event event = generateEvent(203);
+        EventDto eventDto = modelMapper.map(event, EventDto.class);
+        eventDto.setName("First Update");
+        String eTag = mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String newETag = mockMvc.perform(put("/api/events/{id}", event.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content(objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+
+        // when
+        eventDto.setName("Stale Update");
+        ResultActions perform = mockMvc.perform(put("/api/events/{id}", event.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .content(objectMapper.writeValueAsString(eventDto)));
+
+        // then
+        perform.andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, newETag));
+        mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(jsonPath("name").value("First Update"));
+    }
+
     @Test
     @DisplayName("존재하지 않는 이벤트 수정 실패")
     public void update_Not_Exist_Event_Test() throws Exception {
@@ -372,8 +1090,334 @@ public class EventControllerTests extends BaseControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
-    private Event generateEvent(int index) {
-        Event testEvent = Event.builder()
+    @Test
+    @DisplayName("PATCH 로 이름만 바꾸면 UPDATE 에 이름과 version 만 들어간다")
+    @ExtendWith(OutputCaptureExtension.class)
+    public void patchEvent(CapturedOutput output) throws Exception {
+        // given
+        Event event = generateEvent(210);
+        String eTag = mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        int start = output.getOut().length();
+
+        // when
+        ResultActions perform = mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .contentType(EventController.MERGE_PATCH_VALUE)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .content("{\"name\": \"Patched Event\"}")
+                .accept(MediaTypes.HAL_JSON_VALUE));
+
+        // then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("name").value("Patched Event"))
+                .andExpect(jsonPath("description").value("test event"))
+                .andExpect(jsonPath("location").value("강남역 D2 스타텁 팩토리"))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("patch-event",
+                        requestHeaders(
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("application/merge-patch+json"),
+                                headerWithName(HttpHeaders.IF_MATCH).description("(optional) 조회할 때 받은 ETag")
+                        ),
+                        requestFields(
+                                fieldWithPath("name").description("바꿀 필드만 보낸다")
+                        ),
+                        responseHeaders(
+                                headerWithName(HttpHeaders.ETAG).description("수정된 event 의 ETag")
+                        )));
+        assertThat(perform.andReturn().getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+
+        String sql = output.getOut().substring(start).replaceAll("\\s+", " ");
+        assertThat(sql).contains("update event set name=?, version=? where id=? and version=?");
+        Event saved = eventRepository.findUncachedById(event.getId()).orElseThrow();
+        assertThat(saved.getName()).isEqualTo("Patched Event");
+        assertThat(saved.getDescription()).isEqualTo("test event");
+    }
+
+    @Test
+    @DisplayName("PATCH 로 가격이나 장소를 바꾸면 free, offline 을 다시 계산한다")
+    public void patchEvent_Recomputes_Free_Offline() throws Exception {
+        // given
+        Event event = generateEvent(211);
+
+        // when // then
+        mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .content("{\"basePrice\": 0, \"maxPrice\": 0, \"location\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("basePrice").value(0))
+                .andExpect(jsonPath("free").value(true))
+                .andExpect(jsonPath("offline").value(false));
+    }
+
+    @Test
+    @DisplayName("PATCH 로 바꾼 값이 없으면 저장하지 않고 같은 ETag 를 돌려준다")
+    public void patchEvent_No_Change() throws Exception {
+        // given
+        Event event = generateEvent(212);
+        String eTag = mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when // then
+        mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .content("{\"name\": \"event 212\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        assertThat(eventRepository.findUncachedById(event.getId()).orElseThrow().getVersion())
+                .isEqualTo(event.getVersion());
+    }
+
+    @Test
+    @DisplayName("PATCH 는 바꾼 필드만 검사하고 잘못되면 400 을 응답한다")
+    public void patchEvent_Bad_Request() throws Exception {
+        // given
+        Event event = generateEvent(213);
+
+        // when // then
+        mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .content("{\"name\": \"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("name"))
+                .andExpect(jsonPath("errors[0].code").value("NotEmpty"));
+        mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .content("{\"basePrice\": 500}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongPrices"));
+        mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .content("{\"endEventDateTime\": \"2018-11-20T14:21:00\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("endEventDateTime"));
+        mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .content("{\"unknown\": 1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongPatch"));
+        mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongPatch"));
+        assertThat(eventRepository.findUncachedById(event.getId()).orElseThrow().getVersion())
+                .isEqualTo(event.getVersion());
+    }
+
+    @Test
+    @DisplayName("PATCH 도 If-Match 가 현재 버전과 다르면 412, 없는 이벤트면 404 를 응답한다")
+    public void patchEvent_Precondition_Failed() throws Exception {
+        // given
+        Event event = generateEvent(214);
+
+        // when // then
+        mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .header(HttpHeaders.IF_MATCH, "\"stale\"")
+                        .content("{\"name\": \"Stale Patch\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/events/1234567")
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .content("{\"name\": \"Missing\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Accept 가 Smile 이면 같은 HAL 문서를 Smile 로 응답한다")
+    public void getEvent_Smile() throws Exception {
+        // given
+        Event event = generateEvent(220);
+
+        // when
+        MockHttpServletResponse response = mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .accept(BinaryFormatConfig.SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatConfig.SMILE_VALUE))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse();
+
+        // then
+        JsonNode document = new ObjectMapper(new SmileFactory()).readTree(response.getContentAsByteArray());
+        assertThat(document.get("name").asText()).isEqualTo("event 220");
+        assertThat(document.get("beginEnrollmentDateTime").asText()).isEqualTo("2018-11-23T14:21:00");
+        assertThat(document.at("/_links/self/href").asText()).endsWith("/api/events/" + event.getId());
+    }
+
+    @Test
+    @DisplayName("JSON 과 Smile 은 ETag 가 달라서 다른 형식의 ETag 로는 304 를 받지 않는다")
+    public void getEvent_ETag_Per_Format() throws Exception {
+        // given
+        Event event = generateEvent(222);
+        String jsonETag = mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when & then
+        String smileETag = mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .accept(BinaryFormatConfig.SMILE_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + event.getVersion() + "-smile\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/events/{id}", event.getId())
+                        .accept(BinaryFormatConfig.SMILE_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, smileETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, smileETag));
+        mockMvc.perform(get("/api/events")
+                        .param("page", "0").param("size", "5")
+                        .accept(BinaryFormatConfig.CBOR_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, mockMvc.perform(get("/api/events")
+                                        .param("page", "0").param("size", "5")
+                                        .accept(MediaTypes.HAL_JSON))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-cbor\"")));
+        // 수정은 어느 형식으로 받은 ETag 로도 할 수 있다.
+        mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .contentType(EventController.MERGE_PATCH_VALUE)
+                        .accept(MediaTypes.HAL_JSON)
+                        .header(HttpHeaders.IF_MATCH, smileETag)
+                        .content("{\"name\": \"Patched With Smile ETag\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (event.getVersion() + 1) + "\""));
+    }
+
+    @Test
+    @DisplayName("Accept 가 CBOR 이면 목록도 CBOR 로 응답하고 CBOR 요청 본문으로 생성할 수 있다")
+    public void queryEvents_Cbor() throws Exception {
+        // given
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+        byte[] body = cborMapper.writeValueAsBytes(generateEventDto(221));
+
+        // when
+        mockMvc.perform(post("/api/events")
+                        .contentType(BinaryFormatConfig.CBOR_VALUE)
+                        .accept(BinaryFormatConfig.CBOR_VALUE)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(BinaryFormatConfig.CBOR_VALUE));
+        MockHttpServletResponse response = mockMvc.perform(get("/api/events")
+                        .param("page", "0").param("size", "5")
+                        .accept(BinaryFormatConfig.CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        // then
+        JsonNode document = cborMapper.readTree(response.getContentAsByteArray());
+        assertThat(document.at("/_embedded/eventList/0/name").isTextual()).isTrue();
+        assertThat(document.at("/_embedded/eventList/0/_links/self/href").isTextual()).isTrue();
+        assertThat(document.at("/page/size").asInt()).isEqualTo(5);
+        assertThat(document.at("/_links/self/href").isTextual()).isTrue();
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도가 가득 차면 503 과 Retry-After 로 거절한다")
+    public void queryEvents_Service_Unavailable() throws Exception {
+        // given
+        List<MockHttpServletRequest> inFlight = new ArrayList<>();
+        for (int i = 0; i < admissionControlInterceptor.getMaxConcurrent(); i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            admissionControlInterceptor.preHandle(request, new MockHttpServletResponse(), null);
+            inFlight.add(request);
+        }
+
+        try {
+            // when & then
+            mockMvc.perform(get("/api/events"))
+                    .andDo(print())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("errors[0].code").value("serviceUnavailable"))
+                    .andExpect(jsonPath("_links.index").exists());
+        } finally {
+            inFlight.forEach(request -> admissionControlInterceptor.afterCompletion(request, new MockHttpServletResponse(), null, null));
+        }
+
+        mockMvc.perform(get("/api/events")).andExpect(status().isOk());
+        assertThat(admissionControlInterceptor.getAvailablePermits()).isEqualTo(admissionControlInterceptor.getMaxConcurrent());
+    }
+
+    @Test
+    @DisplayName("클라이언트가 요청 한도를 넘으면 429 와 RateLimit 헤더가 발생하고 다른 클라이언트는 영향이 없다")
+    public void createEvents_Too_Many_Requests() throws Exception {
+        // given : batch 규칙은 10회, 초당 1회 충전
+        String apiKey = "test-client";
+        int status = 0;
+        ResultActions result = null;
+
+        // when
+        for (int i = 0; i < 30 && status != 429; i++) {
+            result = mockMvc.perform(post("/api/events/batch")
+                    .header("X-API-Key", apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content("[]"));
+            status = result.andReturn().getResponse().getStatus();
+        }
+
+        // then
+        result.andDo(print())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(RateLimitInterceptor.LIMIT, "10"))
+                .andExpect(header().string(RateLimitInterceptor.REMAINING, "0"))
+                .andExpect(header().exists(RateLimitInterceptor.RESET))
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("errors[0].code").value("tooManyRequests"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        mockMvc.perform(post("/api/events/batch")
+                        .header("X-API-Key", "test-client-other")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content("[]"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(RateLimitInterceptor.REMAINING, "9"));
+    }
+
+    @Test
+    @DisplayName("이벤트를 생성하면 단계별 시간과 SQL 수가 기록되고 actuator 로 조회할 수 있다")
+    public void createEvent_Records_Metrics() throws Exception {
+        // given
+        EventDto wrongPrices = generateEventDto(500);
+        wrongPrices.setBasePrice(10000);
+        double failuresBefore = meterRegistry.counter("events.validation.failures", "code", "wrongPrices", "field", "global").count();
+
+        // when
+        mockMvc.perform(post("/api/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(generateEventDto(500))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(wrongPrices)))
+                .andExpect(status().isBadRequest());
+
+        // then
+        for (String stage : List.of("binding", "validation", "mapping", "repository", "assembly", "serialization")) {
+            assertThat(meterRegistry.find("events.stage").tags("endpoint", "createEvent", "stage", stage).timer())
+                    .as(stage).isNotNull()
+                    .extracting(timer -> timer.count()).isNotEqualTo(0L);
+        }
+        assertThat(meterRegistry.find("events.hibernate.statements").tag("endpoint", "createEvent").summary().max())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.counter("events.validation.failures", "code", "wrongPrices", "field", "global").count())
+                .isEqualTo(failuresBefore + 1);
+        mockMvc.perform(get("/actuator/metrics/events.stage").param("tag", "endpoint:createEvent"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("availableTags[?(@.tag == 'stage')].values[*]", hasItem("serialization")));
+    }
+
+    private long countEventsNamed(String name) {
+        return eventRepository.findAll().stream().filter(event -> event.getName().equals(name)).count();
+    }
+
+    private EventDto generateEventDto(int index) {
+        return EventDto.builder()
                 .name("event " + index)
                 .description("test event")
                 .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
@@ -384,9 +1428,28 @@ public class EventControllerTests extends BaseControllerTest {
                 .maxPrice(200)
                 .limitOfEnrollment(100)
                 .location("강남역 D2 스타텁 팩토리")
-                .free(false)
+                .build();
+    }
+
+    private Event generateEvent(int index) {
+        return generateEvent(index, "강남역 D2 스타텁 팩토리", 100, EventStatus.DRAFT);
+    }
+
+    private Event generateEvent(int index, String location, int basePrice, EventStatus eventStatus) {
+        Event testEvent = Event.builder()
+                .name("event " + index)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(basePrice)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location(location)
+                .free(basePrice == 0)
                 .offline(true)
-                .eventStatus(EventStatus.DRAFT)
+                .eventStatus(eventStatus)
                 .build();
         return eventRepository.save(testEvent);
     }
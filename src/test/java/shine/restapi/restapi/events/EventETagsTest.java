@@ -0,0 +1,52 @@
+package shine.restapi.restapi.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventETagsTest {
+
+    @Test
+    @DisplayName("정렬된 목록의 ETag 는 JVM 이 달라도 같은 값이다")
+    public void of_Sorted_Page_Stable_Value() {
+        // given
+        Event event = Event.builder().id(1).version(2).build();
+        Sort sort = Sort.by(Sort.Order.asc("name"), Sort.Order.desc("basePrice").ignoreCase());
+
+        // when
+        String eTag = EventETags.of(List.of(event), 0, 20, sort, 1L, "");
+
+        // then
+        assertThat(eTag).isEqualTo("W/\"pb37bff2116494025\"");
+    }
+
+    @Test
+    @DisplayName("정렬 방향이 다르면 ETag 가 다르다")
+    public void of_Sort_Direction() {
+        // given
+        Event event = Event.builder().id(1).version(2).build();
+
+        // when
+        String ascending = EventETags.of(List.of(event), 0, 20, Sort.by(Sort.Order.asc("name")), 1L, "");
+        String descending = EventETags.of(List.of(event), 0, 20, Sort.by(Sort.Order.desc("name")), 1L, "");
+
+        // then
+        assertThat(ascending).isNotEqualTo(descending);
+    }
+
+    @Test
+    @DisplayName("목록의 weak ETag 는 If-None-Match 에는 맞고 If-Match 에는 맞지 않는다")
+    public void page_ETag_Weak_Comparison_Only() {
+        // given
+        String eTag = EventETags.of(List.of(Event.builder().id(1).version(2).build()), 0, 20, Sort.unsorted(), 1L, "");
+
+        // when // then
+        assertThat(EventETags.noneMatchFails(eTag, eTag)).isTrue();
+        assertThat(EventETags.noneMatchFails(eTag.substring(2), eTag)).isTrue();
+        assertThat(EventETags.matchFails(eTag, eTag)).isTrue();
+    }
+}
@@ -0,0 +1,168 @@
+package shine.restapi.restapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import shine.restapi.restapi.common.LinkTemplates;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventHalWriterTest {
+
+    static final LinkTemplates LINKS = LinkTemplates.forBase("http://localhost:8080");
+    static final EventLinks EVENT_LINKS = EventLinks.of(LINKS);
+
+    // 애플리케이션처럼 기본 ObjectMapper 를 만든 뒤 HAL 모듈을 더한다. reference 는 EventJsonModule 이 없는 것.
+    final ObjectMapper reference = halMapper();
+    final ObjectMapper direct = halMapper(new EventJsonModule());
+
+    @Test
+    @DisplayName("EventResource 는 기본 HAL 직렬화와 같은 바이트를 쓴다")
+    public void resource() throws IOException {
+        assertSameOutput(new EventResource(event(1), LINKS));
+    }
+
+    @Test
+    @DisplayName("null 필드, 나노초, 네 자리를 넘는 연도, 이스케이프가 필요한 문자열도 같다")
+    public void resourceEdgeCases() throws IOException {
+        // given
+        Event empty = new Event();
+        empty.setId(2);
+        empty.setEventStatus(null);
+
+        Event event = event(3);
+        event.setName("따옴표 \" 역슬래시 \\ 줄바꿈 \n 탭 \t 제어문자 \u0001");
+        event.setBeginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21, 5, 120_000_000));
+        event.setCloseEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 0, 0, 0, 1));
+        event.setBeginEventDateTime(LocalDateTime.of(5, 1, 2, 3, 4));
+        event.setEndEventDateTime(LocalDateTime.of(12018, 1, 1, 0, 0));
+
+        // when // then
+        assertSameOutput(new EventResource(empty, LINKS));
+        assertSameOutput(new EventResource(event, LINKS));
+    }
+
+    @Test
+    @DisplayName("페이지 목록은 _embedded, _links, page 까지 같다")
+    public void pagedModel() throws IOException {
+        // given
+        PagedModel<EventResource> page = PagedModel.of(
+                List.of(new EventResource(event(11), LINKS), new EventResource(event(12), LINKS)),
+                new PagedModel.PageMetadata(2, 1, 32, 16),
+                Link.of(EVENT_LINKS.events() + "?page=0&size=2&sort=name,desc", IanaLinkRelations.FIRST),
+                Link.of(EVENT_LINKS.events() + "?page=0&size=2&sort=name,desc", IanaLinkRelations.PREV),
+                Link.of(EVENT_LINKS.events() + "?page=1&size=2&sort=name,desc", IanaLinkRelations.SELF),
+                Link.of(EVENT_LINKS.events() + "?page=2&size=2&sort=name,desc", IanaLinkRelations.NEXT),
+                Link.of(EVENT_LINKS.events() + "?page=15&size=2&sort=name,desc", IanaLinkRelations.LAST),
+                EventController.LIST_PROFILE);
+
+        // when // then
+        assertSameOutput(page);
+        assertThat(writesDirectly(page)).isTrue();
+    }
+
+    @Test
+    @DisplayName("페이지 정보가 없는 목록(일괄 생성, 커서 조회)도 같다")
+    public void collectionModel() throws IOException {
+        // given
+        CollectionModel<EventResource> batch = CollectionModel.of(
+                List.of(new EventResource(event(21), LINKS)),
+                Link.of(EVENT_LINKS.events(), "query-events"),
+                EventController.BATCH_PROFILE);
+
+        // when // then
+        assertSameOutput(batch);
+        assertThat(writesDirectly(batch)).isTrue();
+    }
+
+    @Test
+    @DisplayName("빈 목록, 템플릿 링크, 중복 rel 은 원래 serializer 로 쓴다")
+    public void fallback() throws IOException {
+        // given
+        CollectionModel<EventResource> empty = CollectionModel.of(Collections.emptyList(), EventController.LIST_PROFILE);
+        CollectionModel<EventResource> templated = CollectionModel.of(
+                List.of(new EventResource(event(31), LINKS)),
+                Link.of(EVENT_LINKS.events() + "{?page,size}", "query-events"));
+        EventResource duplicated = new EventResource(event(32), LINKS);
+        duplicated.add(Link.of(EVENT_LINKS.events() + "/33", IanaLinkRelations.SELF));
+
+        // when // then
+        assertSameOutput(empty);
+        assertSameOutput(templated);
+        assertSameOutput(duplicated);
+        assertThat(writesDirectly(empty)).isFalse();
+        assertThat(writesDirectly(templated)).isFalse();
+    }
+
+    @Test
+    @DisplayName("HAL 모듈이 없는 ObjectMapper 에는 적용하지 않는다")
+    public void plainJson() throws IOException {
+        // given
+        ObjectMapper plain = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper plainWithModule = Jackson2ObjectMapperBuilder.json().modulesToInstall(new EventJsonModule()).build();
+        EventResource resource = new EventResource(event(41), LINKS);
+
+        // when // then
+        assertThat(plainWithModule.writeValueAsString(resource)).isEqualTo(plain.writeValueAsString(resource));
+    }
+
+    private void assertSameOutput(Object value) throws IOException {
+        assertThat(direct.writeValueAsBytes(value)).isEqualTo(reference.writeValueAsBytes(value));
+        assertThat(direct.writerWithDefaultPrettyPrinter().writeValueAsString(value))
+                .isEqualTo(reference.writerWithDefaultPrettyPrinter().writeValueAsString(value));
+    }
+
+    private boolean writesDirectly(CollectionModel<?> model) throws IOException {
+        try (JsonGenerator generator = direct.getFactory().createGenerator(new StringWriter())) {
+            return EventHalWriter.writeCollection(model, generator, direct.getSerializerProviderInstance());
+        }
+    }
+
+    private static ObjectMapper halMapper(Module... modules) {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(modules)
+                .build();
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return mapper;
+    }
+
+    private static Event event(int id) {
+        Event event = Event.builder()
+                .id(id)
+                .name("event " + id)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+        event.update();
+        return event;
+    }
+}
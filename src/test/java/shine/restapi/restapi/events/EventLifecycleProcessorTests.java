@@ -0,0 +1,135 @@
+package shine.restapi.restapi.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import shine.restapi.restapi.common.EventFixtures;
+import shine.restapi.restapi.common.SchedulerLease;
+import shine.restapi.restapi.common.SchedulerLeaseRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 다른 테스트 컨텍스트와 testdb 를 같이 쓰면 sequence 캐시가 겹치므로 따로 DB 를 쓴다.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:lifecycledb",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:lifecycledb"
+})
+@ActiveProfiles("test")
+public class EventLifecycleProcessorTests {
+
+    @Autowired
+    EventLifecycleProcessor eventLifecycleProcessor;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Test
+    @DisplayName("시각이 지난 event 가 지금 있어야 할 상태로 한 번에 옮겨지는 테스트")
+    public void advance() {
+        // given
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Event enrolling = generateEvent(EventStatus.PUBLISHED, now.minusHours(1));
+        Event closing = generateEvent(EventStatus.BEGAN_ENROLLMEND, now.minusDays(1).minusHours(1));
+        Event starting = generateEvent(EventStatus.CLOSED_ENROLLMENT, now.minusDays(2).minusHours(1));
+        Event ended = generateEvent(EventStatus.PUBLISHED, now.minusDays(10));
+        Event notYet = generateEvent(EventStatus.PUBLISHED, now.plusHours(1));
+        Event draft = generateEvent(EventStatus.DRAFT, now.minusDays(10));
+
+        // when
+        int advanced = eventLifecycleProcessor.advance(now);
+
+        // then
+        assertThat(advanced).isGreaterThanOrEqualTo(4);
+        assertStatus(enrolling, EventStatus.BEGAN_ENROLLMEND, enrolling.getCloseEnrollmentDateTime());
+        assertStatus(closing, EventStatus.CLOSED_ENROLLMENT, closing.getBeginEventDateTime());
+        assertStatus(starting, EventStatus.STARTED, starting.getEndEventDateTime());
+        assertStatus(ended, EventStatus.ENDED, null);
+        assertStatus(notYet, EventStatus.PUBLISHED, notYet.getBeginEnrollmentDateTime());
+        assertStatus(draft, EventStatus.DRAFT, null);
+        assertThat(eventRepository.findUncachedById(ended.getId()).orElseThrow().getVersion())
+                .isEqualTo(ended.getVersion() + 1);
+        assertThat(eventRepository.findUncachedById(notYet.getId()).orElseThrow().getVersion())
+                .isEqualTo(notYet.getVersion());
+        assertThat(eventLifecycleProcessor.advance(now)).isZero();
+    }
+
+    @Test
+    @DisplayName("상태가 바뀐 event 는 캐시에서도 지워지는 테스트")
+    public void advance_Evicts_Cache() {
+        // given
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Event event = generateEvent(EventStatus.PUBLISHED, now.minusHours(1));
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+
+        // when
+        eventLifecycleProcessor.advance(now);
+
+        // then
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getEventStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMEND);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 lease 를 가지고 있으면 아무것도 바꾸지 않는 테스트")
+    public void advance_Without_Lease() {
+        // given
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Event event = generateEvent(EventStatus.PUBLISHED, now.minusHours(1));
+        SchedulerLease previous = schedulerLeaseRepository.findById(EventLifecycleProcessor.LEASE).orElse(null);
+        schedulerLeaseRepository.save(new SchedulerLease(EventLifecycleProcessor.LEASE, "other-instance", now.plusMinutes(1)));
+
+        try {
+            // when
+            int advanced = eventLifecycleProcessor.advance(now);
+
+            // then
+            assertThat(advanced).isEqualTo(-1);
+            assertStatus(event, EventStatus.PUBLISHED, event.getBeginEnrollmentDateTime());
+        } finally {
+            if (previous == null) {
+                schedulerLeaseRepository.deleteById(EventLifecycleProcessor.LEASE);
+            } else {
+                schedulerLeaseRepository.save(previous);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("상태를 직접 바꾸면 다음 전이 시각도 다시 정해지는 테스트")
+    public void scheduleNextTransition() {
+        // given
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Event event = generateEvent(EventStatus.DRAFT, now.plusHours(1));
+        assertThat(event.getNextTransitionAt()).isNull();
+
+        // when
+        event.setEventStatus(EventStatus.PUBLISHED);
+        Event saved = eventRepository.save(event);
+
+        // then
+        assertThat(saved.getNextTransitionAt()).isEqualTo(saved.getBeginEnrollmentDateTime());
+        assertThat(eventLifecycleProcessor.untilNextTransition(now)).isNotNull();
+    }
+
+    private void assertStatus(Event event, EventStatus eventStatus, LocalDateTime nextTransitionAt) {
+        Event saved = eventRepository.findUncachedById(event.getId()).orElseThrow();
+        assertThat(saved.getEventStatus()).isEqualTo(eventStatus);
+        assertThat(saved.getNextTransitionAt()).isEqualTo(nextTransitionAt);
+    }
+
+    /**
+     * 신청 시작부터 하루 간격으로 신청 마감, event 시작, event 끝. (DB 에서 나노초가 잘리지 않게 초 단위로 넘긴다)
+     */
+    private Event generateEvent(EventStatus eventStatus, LocalDateTime beginEnrollment) {
+        return eventRepository.save(EventFixtures.event("lifecycle event", beginEnrollment)
+                .eventStatus(eventStatus)
+                .build());
+    }
+}
@@ -0,0 +1,31 @@
+package shine.restapi.restapi.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import shine.restapi.restapi.common.LinkTemplates;
+import shine.restapi.restapi.enrollments.EnrollmentLinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventLinksTest {
+
+    @Test
+    @DisplayName("컨트롤러 매핑 경로로 event, 변경 내역, 통계, 참가 신청 링크를 만든다")
+    public void links() {
+        // given
+        LinkTemplates links = LinkTemplates.forBase("https://api.example.com/ctx");
+
+        // when
+        EventLinks eventLinks = EventLinks.of(links);
+        EnrollmentLinks enrollmentLinks = EnrollmentLinks.of(links);
+
+        // then
+        assertThat(eventLinks).isSameAs(EventLinks.of(links));
+        assertThat(eventLinks.events()).isEqualTo("https://api.example.com/ctx/api/events");
+        assertThat(eventLinks.event(10)).isEqualTo("https://api.example.com/ctx/api/events/10");
+        assertThat(eventLinks.changes(5)).isEqualTo("https://api.example.com/ctx/api/events/changes?after=5");
+        assertThat(eventLinks.statistics()).isEqualTo("https://api.example.com/ctx/api/events/statistics");
+        assertThat(enrollmentLinks.enrollments(10)).isEqualTo("https://api.example.com/ctx/api/events/10/enrollments");
+        assertThat(enrollmentLinks.enrollment(10, 3)).isEqualTo("https://api.example.com/ctx/api/events/10/enrollments/3");
+    }
+}
@@ -0,0 +1,56 @@
+package shine.restapi.restapi.events;
+
+import org.hibernate.search.mapper.orm.Search;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import shine.restapi.restapi.common.BaseControllerTest;
+import shine.restapi.restapi.common.EventFixtures;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 색인을 비우므로 다른 테스트 컨텍스트와 DB 를 나눠 쓰지 않는다.
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:searchindexdb",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:searchindexdb"
+})
+public class EventSearchIndexerTests extends BaseControllerTest {
+
+    @Autowired
+    EventSearchIndexer eventSearchIndexer;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("재시작해서 색인이 비어있으면 DB 에 있던 event 를 다시 색인하는 테스트")
+    public void run_Reindex_Empty_Index() throws Exception {
+        // given
+        Event event = eventService.create(generateEvent("재색인 스터디"));
+        Search.mapping(entityManagerFactory).scope(Event.class).workspace().purge();
+        assertThat(eventSearchIndexer.isIndexEmpty()).isTrue();
+
+        // when
+        eventSearchIndexer.run(null);
+
+        // then
+        assertThat(eventSearchIndexer.isIndexEmpty()).isFalse();
+        mockMvc.perform(get("/api/events/search").param("q", "재색인"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(event.getId()));
+    }
+
+    private Event generateEvent(String name) {
+        return EventFixtures.event(name).build();
+    }
+}
@@ -0,0 +1,245 @@
+package shine.restapi.restapi.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import shine.restapi.restapi.common.BaseControllerTest;
+import shine.restapi.restapi.common.EventFixtures;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.relaxedResponseFields;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 다른 테스트 컨텍스트와 testdb 를 같이 쓰면 다른 컨텍스트가 만든 event 도 세어지므로 따로 DB 를 쓴다.
+// 주기적인 reconcile 은 테스트 중에 끼어들지 않게 길게 잡고, 테스트마다 직접 다시 센다.
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statisticsdb",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:statisticsdb",
+        "events.statistics.price-bounds=1,10000,30000",
+        "events.statistics.reconcile-interval=1h"
+})
+public class EventStatisticsControllerTests extends BaseControllerTest {
+
+    @Autowired
+    EventStatistics eventStatistics;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventLifecycleProcessor eventLifecycleProcessor;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        eventStatistics.reconcile();
+    }
+
+    @Test
+    @DisplayName("만든 event 가 다시 세지 않아도 집계에 바로 반영되는 테스트")
+    public void getStatistics() throws Exception {
+        // given
+        long total = eventStatistics.getTotal();
+        long drafts = eventStatistics.getCount(EventStatus.DRAFT);
+        long free = eventStatistics.getFree();
+        long offline = eventStatistics.getOffline();
+        long sum = eventStatistics.getBasePriceSum();
+        List<Long> histogram = histogram();
+
+        // when
+        eventService.create(generateEvent(0, false, EventStatus.DRAFT));
+        eventService.create(generateEvent(20000, true, EventStatus.DRAFT));
+
+        // then
+        mockMvc.perform(get("/api/events/statistics")
+                        .accept(MediaTypes.HAL_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("total").value(total + 2))
+                .andExpect(jsonPath("byStatus.DRAFT").value(drafts + 2))
+                .andExpect(jsonPath("free").value(free + 1))
+                .andExpect(jsonPath("paid").value(total - free + 1))
+                .andExpect(jsonPath("offline").value(offline + 1))
+                .andExpect(jsonPath("online").value(total - offline + 1))
+                .andExpect(jsonPath("basePrice.sum").value(sum + 20000))
+                .andExpect(jsonPath("basePrice.histogram[0].to").value(1))
+                .andExpect(jsonPath("basePrice.histogram[0].count").value(histogram.get(0) + 1))
+                .andExpect(jsonPath("basePrice.histogram[2].from").value(10000))
+                .andExpect(jsonPath("basePrice.histogram[2].count").value(histogram.get(2) + 1))
+                .andExpect(jsonPath("basePrice.histogram[3].to").isEmpty())
+                .andExpect(jsonPath("reconciledAt").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-event-statistics",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("query-events").description("link to query events"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("total").description("전체 event 수"),
+                                fieldWithPath("byStatus").description("EventStatus 별 event 수"),
+                                fieldWithPath("free").description("무료 event 수"),
+                                fieldWithPath("paid").description("유료 event 수"),
+                                fieldWithPath("offline").description("오프라인 event 수"),
+                                fieldWithPath("online").description("온라인 event 수"),
+                                fieldWithPath("basePrice.sum").description("basePrice 합계"),
+                                fieldWithPath("basePrice.average").description("basePrice 평균"),
+                                fieldWithPath("basePrice.histogram[].from").description("구간의 시작 (이상, 첫 구간은 null)").optional(),
+                                fieldWithPath("basePrice.histogram[].to").description("구간의 끝 (미만, 마지막 구간은 null)").optional(),
+                                fieldWithPath("basePrice.histogram[].count").description("구간의 event 수"),
+                                fieldWithPath("reconciledAt").description("테이블에서 마지막으로 다시 센 시각")
+                        )))
+        ;
+        assertMatchesTable();
+    }
+
+    @Test
+    @DisplayName("event 를 고치면 바뀌기 전 값을 빼고 바뀐 값을 더하는 테스트")
+    public void updateEvent() throws Exception {
+        // given
+        Event event = eventService.create(generateEvent(100, true, EventStatus.DRAFT));
+        long sum = eventStatistics.getBasePriceSum();
+        List<Long> histogram = histogram();
+        EventDto eventDto = modelMapper.map(event, EventDto.class);
+        eventDto.setBasePrice(20000);
+        eventDto.setMaxPrice(30000);
+
+        // when
+        mockMvc.perform(put("/api/events/{id}", event.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(eventDto))
+                        .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk());
+
+        // then
+        assertThat(eventStatistics.getBasePriceSum()).isEqualTo(sum - 100 + 20000);
+        assertThat(histogram().get(1)).isEqualTo(histogram.get(1) - 1);
+        assertThat(histogram().get(2)).isEqualTo(histogram.get(2) + 1);
+        assertMatchesTable();
+    }
+
+    @Test
+    @DisplayName("시각이 지나 상태가 바뀐 event 가 상태별 집계에 반영되는 테스트")
+    public void advance() {
+        // given
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Event event = generateEvent(100, true, EventStatus.PUBLISHED);
+        event.setBeginEnrollmentDateTime(now.minusHours(1));
+        eventService.create(event);
+        long published = eventStatistics.getCount(EventStatus.PUBLISHED);
+        long began = eventStatistics.getCount(EventStatus.BEGAN_ENROLLMEND);
+
+        // when
+        eventLifecycleProcessor.advance(now);
+
+        // then
+        assertThat(eventStatistics.getCount(EventStatus.PUBLISHED)).isEqualTo(published - 1);
+        assertThat(eventStatistics.getCount(EventStatus.BEGAN_ENROLLMEND)).isEqualTo(began + 1);
+        assertMatchesTable();
+    }
+
+    @Test
+    @DisplayName("롤백된 변경은 집계에 반영하지 않는 테스트")
+    public void create_Rollback() {
+        // given
+        long total = eventStatistics.getTotal();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            eventService.create(generateEvent(100, true, EventStatus.DRAFT));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(eventStatistics.getTotal()).isEqualTo(total);
+        assertMatchesTable();
+    }
+
+    @Test
+    @DisplayName("집계를 거치지 않고 바뀐 값은 reconcile 에서 맞춰지는 테스트")
+    public void reconcile() {
+        // given
+        Event event = eventService.create(generateEvent(100, true, EventStatus.DRAFT));
+        long sum = eventStatistics.getBasePriceSum();
+        long offline = eventStatistics.getOffline();
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("update event set base_price = 50000, offline = false where id = :id")
+                .setParameter("id", event.getId())
+                .executeUpdate());
+        assertThat(eventStatistics.getBasePriceSum()).isEqualTo(sum);
+
+        // when
+        eventStatistics.reconcile();
+
+        // then
+        assertThat(eventStatistics.getBasePriceSum()).isEqualTo(sum - 100 + 50000);
+        assertThat(eventStatistics.getOffline()).isEqualTo(offline - 1);
+    }
+
+    /**
+     * 지금까지 더한 값이 테이블을 다시 센 값과 같은지 본다.
+     */
+    private void assertMatchesTable() {
+        long total = eventStatistics.getTotal();
+        List<Long> byStatus = List.of(EventStatus.values()).stream()
+                .map(eventStatistics::getCount)
+                .collect(Collectors.toList());
+        long free = eventStatistics.getFree();
+        long offline = eventStatistics.getOffline();
+        long sum = eventStatistics.getBasePriceSum();
+        List<Long> histogram = histogram();
+
+        eventStatistics.reconcile();
+
+        assertThat(eventStatistics.getTotal()).isEqualTo(total);
+        assertThat(List.of(EventStatus.values()).stream().map(eventStatistics::getCount).collect(Collectors.toList()))
+                .isEqualTo(byStatus);
+        assertThat(eventStatistics.getFree()).isEqualTo(free);
+        assertThat(eventStatistics.getOffline()).isEqualTo(offline);
+        assertThat(eventStatistics.getBasePriceSum()).isEqualTo(sum);
+        assertThat(histogram()).isEqualTo(histogram);
+    }
+
+    private List<Long> histogram() {
+        return eventStatistics.getPriceBuckets().stream()
+                .map(EventStatistics.PriceBucket::getCount)
+                .collect(Collectors.toList());
+    }
+
+    private Event generateEvent(int basePrice, boolean offline, EventStatus eventStatus) {
+        return EventFixtures.event("statistics event", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1))
+                .basePrice(basePrice)
+                .maxPrice(basePrice * 2)
+                .location(offline ? EventFixtures.LOCATION : null)
+                .offline(offline)
+                .free(basePrice == 0)
+                .eventStatus(eventStatus)
+                .build();
+    }
+}
@@ -0,0 +1,252 @@
+package shine.restapi.restapi.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * reactive 프로파일(WebFlux + R2DBC)의 /api/events 가 MVC 와 같은 HAL 문서를 내려주는지 확인한다.
+ * MVC 테스트와 DB 를 나누기 위해 별도의 H2 메모리 DB 를 쓴다.
+ * (테스트 컨텍스트는 프로파일 파일보다 먼저 웹 타입을 정하므로 web-application-type 을 여기서도 지정한다)
+ */
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactivedb",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:reactivedb",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb"
+})
+@AutoConfigureWebTestClient
+@ActiveProfiles({"reactive", "test"})
+public class ReactiveEventControllerTests {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    EventChangeRepository eventChangeRepository;
+
+    @Autowired
+    EventStatistics eventStatistics;
+
+    @Autowired
+    EventSearchService eventSearchService;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = webTestClient.mutate().baseUrl("http://localhost").build();
+    }
+
+    @Test
+    @DisplayName("reactive 스택에서 정상적으로 이벤트 생성하는 테스트")
+    public void createEvent() {
+        webTestClient.post().uri("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .bodyValue(generateEventDto(0))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.LOCATION)
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectHeader().contentType(MediaTypes.HAL_JSON)
+                .expectBody()
+                .jsonPath("id").exists()
+                .jsonPath("version").doesNotExist()
+                .jsonPath("free").isEqualTo(false)
+                .jsonPath("offline").isEqualTo(true)
+                .jsonPath("eventStatus").isEqualTo(EventStatus.DRAFT.name())
+                .jsonPath("beginEnrollmentDateTime").isEqualTo("2018-11-23T14:21:00")
+                .jsonPath("_links.self.href").value(href -> assertThat((String) href).startsWith("http://localhost/api/events/"))
+                .jsonPath("_links.query-events.href").isEqualTo("http://localhost/api/events")
+                .jsonPath("_links.update-events").exists()
+                .jsonPath("_links.profile.href").isEqualTo("/docs/index.html#resource-events-create");
+    }
+
+    @Test
+    @DisplayName("reactive 스택에서 잘못된 입력값이면 MVC 와 같은 에러 응답이 발생한다")
+    public void createEvent_Bad_Request_Wrong_Input() {
+        EventDto eventDto = generateEventDto(0);
+        eventDto.setBasePrice(10000);
+
+        webTestClient.post().uri("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("errors[0].objectName").isEqualTo("eventDto")
+                .jsonPath("errors[0].code").isEqualTo("wrongPrices")
+                .jsonPath("_links.index.href").isEqualTo("http://localhost/api");
+    }
+
+    @Test
+    @DisplayName("reactive 스택에서 2번째 page 조회하기")
+    public void queryEvents() {
+        // given
+        IntStream.range(0, 30).forEach(this::createEvent);
+
+        // when & then
+        webTestClient.get().uri("/api/events?page=1&size=10&sort=name,DESC")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("page.size").isEqualTo(10)
+                .jsonPath("page.number").isEqualTo(1)
+                .jsonPath("_embedded.eventList.length()").isEqualTo(10)
+                .jsonPath("_embedded.eventList[0]._links.self").exists()
+                .jsonPath("_links.first.href").isEqualTo("http://localhost/api/events?page=0&size=10&sort=name,desc")
+                .jsonPath("_links.prev.href").isEqualTo("http://localhost/api/events?page=0&size=10&sort=name,desc")
+                .jsonPath("_links.self.href").isEqualTo("http://localhost/api/events?page=1&size=10&sort=name,desc")
+                .jsonPath("_links.next.href").isEqualTo("http://localhost/api/events?page=2&size=10&sort=name,desc")
+                .jsonPath("_links.last").exists()
+                .jsonPath("_links.profile").exists();
+    }
+
+    @Test
+    @DisplayName("reactive 스택에서 이벤트를 조회하고 If-Match 로 수정하기")
+    public void getAndUpdateEvent() {
+        // given
+        String location = createEvent(100);
+        String eTag = webTestClient.get().uri(location)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("name").isEqualTo("event 100")
+                .jsonPath("_links.self.href").isEqualTo(location)
+                .jsonPath("_links.enrollments.href").isEqualTo(location + "/enrollments")
+                .jsonPath("_links.profile").exists()
+                .returnResult().getResponseHeaders().getETag();
+        EventDto eventDto = generateEventDto(100);
+        eventDto.setName("Updated Reactive Event");
+
+        // when & then
+        webTestClient.put().uri(location)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("name").isEqualTo("Updated Reactive Event");
+        webTestClient.put().uri(location)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.get().uri(location)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        webTestClient.get().uri("/api/events/7777")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("reactive 스택의 생성, 수정도 같은 트랜잭션에서 변경 내역을 남긴다")
+    public void createAndUpdate_Record_Changes() {
+        // given
+        String location = createEvent(200);
+        Integer id = Integer.valueOf(location.substring(location.lastIndexOf('/') + 1));
+        EventDto eventDto = generateEventDto(200);
+        eventDto.setName("Recorded Reactive Event");
+
+        // when
+        webTestClient.put().uri(location)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.put().uri(location)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        // then
+        List<EventChange.Type> changes = eventChangeRepository.findAll().stream()
+                .filter(change -> change.getEventId().equals(id))
+                .map(EventChange::getChangeType)
+                .collect(Collectors.toList());
+        assertThat(changes).containsExactly(EventChange.Type.CREATED, EventChange.Type.UPDATED);
+    }
+
+    @Test
+    @DisplayName("reactive 스택의 생성, 수정도 통계와 전문 검색 색인에 반영된다")
+    public void createAndUpdate_Update_Statistics_And_Search_Index() {
+        // given
+        long totalBefore = eventStatistics.getTotal();
+        long draftBefore = eventStatistics.getCount(EventStatus.DRAFT);
+
+        // when
+        String location = createEvent(300);
+        EventDto eventDto = generateEventDto(300);
+        eventDto.setName("반응형 색인 스터디");
+        webTestClient.put().uri(location)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isOk();
+
+        // then
+        assertThat(eventStatistics.getTotal()).isEqualTo(totalBefore + 1);
+        assertThat(eventStatistics.getCount(EventStatus.DRAFT)).isEqualTo(draftBefore + 1);
+        assertThat(eventSearchService.search("반응형", PageRequest.of(0, 10)).getContent())
+                .extracting(Event::getName)
+                .containsExactly("반응형 색인 스터디");
+    }
+
+    @Test
+    @DisplayName("reactive 스택의 index 조회")
+    public void index() {
+        webTestClient.get().uri("/api")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("_links.events.href").isEqualTo("http://localhost/api/events");
+    }
+
+    private String createEvent(int index) {
+        return webTestClient.post().uri("/api/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(generateEventDto(index))
+                .exchange()
+                .expectStatus().isCreated()
+                .returnResult(String.class).getResponseHeaders().getLocation().toString();
+    }
+
+    private EventDto generateEventDto(int index) {
+        return EventDto.builder()
+                .name("event " + index)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+    }
+}